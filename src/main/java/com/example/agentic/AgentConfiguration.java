@@ -0,0 +1,187 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.agentic.orchestration.AgentCatalog;
+import com.example.agentic.orchestration.CompressingToolCallback;
+import com.example.agentic.orchestration.ModelRouter;
+import com.example.agentic.orchestration.ToolOutputCompressor;
+import com.example.agentic.trace.RecordingToolCallback;
+import com.example.agentic.trace.TraceEntry;
+import com.example.agentic.trace.TraceRecorder;
+import com.example.agentic.trace.TraceReplay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.client.McpSyncClient;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.mcp.SyncMcpToolCallbackProvider;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Creates the agents declared with the agentic.agents.* properties.
+ *
+ * The agents are plain objects built from the bound {@link AgenticProperties} in a
+ * single bean method, without reflection or runtime bean registration, so the
+ * configuration can be processed ahead-of-time and used with AppCDS.
+ *
+ * @author Christian Tzolov
+ */
+@Configuration(proxyBeanMethods = false)
+public class AgentConfiguration {
+
+	@Bean
+	public ModelRouter modelRouter() {
+		return new ModelRouter();
+	}
+
+	/**
+	 * Catalog of the configured agents. Agents registered with it at runtime are
+	 * offered to the planner of the following iterations.
+	 */
+	@Bean
+	public AgentCatalog agentCatalog(List<McpAgent> mcpAgents) {
+		return new AgentCatalog(mcpAgents);
+	}
+
+	@Bean
+	public ToolOutputCompressor toolOutputCompressor(ChatClient.Builder chatClientBuilder,
+			AgenticProperties properties, ObjectMapper objectMapper) {
+		var toolOutput = properties.toolOutput();
+		return new ToolOutputCompressor(objectMapper, toolOutput.deduplicate(), toolOutput.stripBoilerplate(),
+				toolOutput.maxChars(), toolOutput.headRatio(),
+				StringUtils.hasText(toolOutput.summaryModel())
+						? withModel(chatClientBuilder.clone(), toolOutput.summaryModel()).build() : null,
+				toolOutput.summarizeAboveChars());
+	}
+
+	@Bean
+	public List<McpAgent> mcpAgents(ChatClient.Builder chatClientBuilder,
+			ObjectProvider<List<McpSyncClient>> mcpClientsProvider, AgenticProperties properties,
+			ModelRouter modelRouter, ToolOutputCompressor toolOutputCompressor,
+			ObjectProvider<TraceRecorder> traceRecorder, ObjectProvider<TraceReplay> traceReplay) {
+
+		// No MCP clients when replaying a recorded trace
+		var mcpClients = mcpClientsProvider.getIfAvailable(List::of);
+
+		// Agents sharing a server share its tool callbacks
+		Map<String, List<ToolCallback>> tools = new HashMap<>();
+
+		List<McpAgent> agents = new ArrayList<>();
+		properties.agents().forEach((name, agent) -> {
+			List<ToolCallback> agentTools = new ArrayList<>();
+			for (String server : agent.servers()) {
+				agentTools.addAll(tools.computeIfAbsent(server, serverName -> compressed(
+						mcpTools(mcpClients, List.of(serverName), traceRecorder.getIfAvailable(),
+								traceReplay.getIfAvailable()),
+						isCompressed(properties.toolOutput(), serverName) ? toolOutputCompressor : null)));
+			}
+			agents.add(new McpAgent(name, agent.instruction(), agent.servers(),
+					withModel(chatClientBuilder.clone(), agent.model()).build(), List.copyOf(agentTools),
+					agent.pinnedTools()));
+
+			for (String model : agent.candidateModels()) {
+				modelRouter.register(name, model, withModel(chatClientBuilder.clone(), model).build());
+			}
+		});
+
+		return agents;
+	}
+
+	/**
+	 * The tools of the given MCP servers. The tools are attached per task, so only the
+	 * ones relevant to the task are sent to the model. When a trace is recorded or
+	 * replayed, the tools are recorded or replayed too.
+	 */
+	static List<ToolCallback> mcpTools(List<McpSyncClient> mcpClients, List<String> serverNames,
+			TraceRecorder traceRecorder, TraceReplay traceReplay) {
+
+		if (traceReplay != null) {
+			return traceReplay.toolCallbacks(serverNames);
+		}
+
+		var tools = List.of(new FilteredMcpToolCallbackProvider(serverNames, mcpClients).getToolCallbacks());
+		if (traceRecorder == null) {
+			return tools;
+		}
+
+		for (ToolCallback tool : tools) {
+			var definition = tool.getToolDefinition();
+			traceRecorder.record(TraceEntry.toolDefinition(String.join(",", serverNames), definition.name(),
+					definition.description(), definition.inputSchema()));
+		}
+		return tools.stream()
+				.<ToolCallback>map(tool -> new RecordingToolCallback(tool, traceRecorder))
+				.toList();
+	}
+
+	/**
+	 * Whether the outputs of the given server tools are compressed. Only the listed
+	 * servers are compressed, so tools such as the filesystem read_file return the
+	 * files unaltered.
+	 */
+	static boolean isCompressed(AgenticProperties.ToolOutput toolOutput, String serverName) {
+		return toolOutput.enabled() && toolOutput.servers().contains(serverName);
+	}
+
+	/**
+	 * Compress the outputs of the given tools. The recorded trace keeps the original
+	 * outputs, so a replay compresses them with the current settings.
+	 */
+	static List<ToolCallback> compressed(List<ToolCallback> tools, ToolOutputCompressor toolOutputCompressor) {
+		if (toolOutputCompressor == null) {
+			return tools;
+		}
+		return tools.stream()
+				.<ToolCallback>map(tool -> new CompressingToolCallback(tool, toolOutputCompressor))
+				.toList();
+	}
+
+	static ChatClient.Builder withModel(ChatClient.Builder chatClientBuilder, String model) {
+		if (!StringUtils.hasText(model)) {
+			return chatClientBuilder;
+		}
+		return chatClientBuilder.defaultOptions(ChatOptions.builder().model(model).build());
+	}
+
+	private static class FilteredMcpToolCallbackProvider extends SyncMcpToolCallbackProvider {
+
+		public FilteredMcpToolCallbackProvider(List<String> serverNames, List<McpSyncClient> mcpClients) {
+			super(filterMcpClients(mcpClients, serverNames));
+		}
+
+		private static List<McpSyncClient> filterMcpClients(List<McpSyncClient> mcpClients, List<String> serverNames) {
+			return mcpClients.stream()
+					.filter(mcpClient -> {
+						var mcpServerName = mcpClient.getServerInfo().name();
+						return serverNames.stream()
+								.anyMatch(serverName -> mcpServerName.contains(serverName));
+					})
+					.toList();
+		}
+
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.example.agentic.orchestration.Orchestrator.EarlyStop;
+import com.example.agentic.orchestration.Orchestrator.RequestParams;
+import com.example.agentic.trace.TraceReplay;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the agentic application.
+ *
+ * @author Christian Tzolov
+ */
+@ConfigurationProperties("agentic")
+public record AgenticProperties(Map<String, Agent> agents, @DefaultValue OrchestratorSettings orchestrator,
+		@DefaultValue Models models, @DefaultValue Batch batch, @DefaultValue Workers workers,
+		@DefaultValue Trace trace, @DefaultValue ToolOutput toolOutput) {
+
+	public AgenticProperties {
+		if (agents == null) {
+			agents = Map.of();
+		}
+	}
+
+	/**
+	 * Declarative agent definition, keyed by the agent name.
+	 *
+	 * @param instruction the agent instruction, shown to the planner.
+	 * @param servers names of the MCP servers whose tools the agent can use.
+	 * @param model the agent model. Empty to use the model configured for the
+	 * underlying Spring AI chat model.
+	 * @param candidateModels models the orchestrator routes each task of the agent to,
+	 * based on the observed latency and success rate.
+	 * @param pinnedTools names, or name fragments, of the tools attached to every task
+	 * of the agent. The other tools are attached only to the tasks they are relevant
+	 * to.
+	 */
+	public record Agent(String instruction, List<String> servers, String model, List<String> candidateModels,
+			List<String> pinnedTools) {
+
+		public Agent {
+			if (servers == null) {
+				servers = List.of();
+			}
+			if (candidateModels == null) {
+				candidateModels = List.of();
+			}
+			if (pinnedTools == null) {
+				pinnedTools = List.of();
+			}
+		}
+	}
+
+	/**
+	 * Orchestrator settings.
+	 *
+	 * @param objective the objective executed when the application is not in batch or
+	 * worker mode.
+	 * @param maxIterations maximum number of planning iterations.
+	 * @param maxTokens maximum number of tokens.
+	 * @param contextTopK maximum number of prior task results passed as context to a
+	 * task.
+	 * @param contextMaxChars maximum size, in characters, of the context passed to a
+	 * task.
+	 * @param maxPlannerAgents maximum number of agents, the most relevant to the
+	 * objective, offered to the planner.
+	 * @param maxStalledIterations number of consecutive iterations without progress
+	 * after which the execution stops early. 0 disables the early stop.
+	 * @param earlyStop SYNTHESIZE, PARTIAL or FAIL, what the execution returns when it
+	 * stops early or reaches max-iterations without completing the plan.
+	 * @param duplicateSimilarity minimum similarity of a task to an executed task for
+	 * the executed task result to be reused. 0 disables the reuse.
+	 */
+	public record OrchestratorSettings(String objective, @DefaultValue("3") int maxIterations,
+			@DefaultValue("16384") int maxTokens, @DefaultValue("5") int contextTopK,
+			@DefaultValue("24000") int contextMaxChars, @DefaultValue("10") int maxPlannerAgents,
+			@DefaultValue("2") int maxStalledIterations, @DefaultValue("SYNTHESIZE") EarlyStop earlyStop,
+			@DefaultValue("0.8") double duplicateSimilarity) {
+
+		public RequestParams requestParams() {
+			return new RequestParams(maxIterations, maxTokens, contextTopK, contextMaxChars, maxPlannerAgents,
+					maxStalledIterations, earlyStop, duplicateSimilarity);
+		}
+	}
+
+	/**
+	 * Model selection per orchestration role. Empty values fall back to the model
+	 * configured for the underlying Spring AI chat model.
+	 *
+	 * @param planner model used to generate plans.
+	 * @param synthesizer model used to synthesize the final result.
+	 */
+	public record Models(String planner, String synthesizer) {
+	}
+
+	/**
+	 * Batch mode settings. The batch mode is enabled when the input file is set.
+	 *
+	 * @param input JSONL file with one objective per line.
+	 * @param output JSONL file the plan results are written to.
+	 * @param parallelism number of objectives executed concurrently.
+	 */
+	public record Batch(String input, @DefaultValue("batch-results.jsonl") String output,
+			@DefaultValue("4") int parallelism) {
+	}
+
+	/**
+	 * Task worker settings. By default the agent tasks execute in the orchestrator
+	 * process.
+	 *
+	 * @param addresses host:port addresses of the remote task workers the orchestrator
+	 * dispatches the agent tasks to.
+	 * @param port when set, the application runs as a task worker listening on this
+	 * port instead of running an orchestrator.
+	 * @param parallelism maximum number of tasks a task worker executes concurrently.
+	 * @param bindAddress the address a task worker listens on. The protocol has no
+	 * authentication and the tasks run with the agents' tools, so the default is the
+	 * loopback interface.
+	 * @param taskTimeout maximum time the orchestrator waits for the result of a task
+	 * sent to a task worker.
+	 */
+	public record Workers(List<String> addresses, Integer port, @DefaultValue("8") int parallelism,
+			@DefaultValue("127.0.0.1") String bindAddress, @DefaultValue("10m") Duration taskTimeout) {
+
+		public Workers {
+			if (addresses == null) {
+				addresses = List.of();
+			}
+		}
+	}
+
+	/**
+	 * Compression of the MCP tool outputs before they are returned to the agent
+	 * model.
+	 *
+	 * @param enabled whether the tool outputs are compressed.
+	 * @param servers the MCP servers whose tool outputs are compressed, as named in the
+	 * agent servers. Defaults to the web servers, fetch and brave.
+	 * @param deduplicate remove the repeated lines.
+	 * @param stripBoilerplate remove the navigation, banner and link-only lines.
+	 * @param maxChars maximum size, in characters, of a tool output. Larger outputs
+	 * keep their head and tail.
+	 * @param headRatio fraction of max-chars taken from the head of a capped output.
+	 * @param summaryModel model condensing the large tool outputs. Empty to disable the
+	 * summarization.
+	 * @param summarizeAboveChars minimum size, in characters, of the tool outputs sent
+	 * to the summary model.
+	 */
+	public record ToolOutput(@DefaultValue("true") boolean enabled,
+			@DefaultValue({ "fetch", "brave" }) List<String> servers, @DefaultValue("true") boolean deduplicate,
+			@DefaultValue("true") boolean stripBoilerplate, @DefaultValue("20000") int maxChars,
+			@DefaultValue("0.7") double headRatio, String summaryModel,
+			@DefaultValue("8000") int summarizeAboveChars) {
+	}
+
+	/**
+	 * Record and replay of the model and MCP tool exchanges.
+	 *
+	 * @param mode OFF, RECORD to capture the exchanges into the trace file, or REPLAY
+	 * to serve them from the trace file instead of the model and the MCP servers.
+	 * @param file the gzip-compressed JSONL trace file.
+	 * @param latency replay latency, RECORDED or ZERO.
+	 */
+	public record Trace(@DefaultValue("OFF") Mode mode, @DefaultValue("trace.jsonl.gz") String file,
+			@DefaultValue("RECORDED") TraceReplay.Latency latency) {
+
+		public enum Mode {
+
+			OFF, RECORD, REPLAY
+
+		}
+	}
+}
@@ -16,23 +16,36 @@
 */
 package com.example.agentic;
 
-import java.util.List;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
 
+import com.example.agentic.orchestration.AgentCatalog;
+import com.example.agentic.orchestration.ModelRouter;
 import com.example.agentic.orchestration.Orchestrator;
+import com.example.agentic.orchestration.ResultStore;
+import com.example.agentic.orchestration.ToolOutputCompressor;
 import com.example.agentic.orchestration.Types.PlanResult;
-import io.modelcontextprotocol.client.McpSyncClient;
+import com.example.agentic.orchestration.queue.AgentTaskExecutor;
+import com.example.agentic.orchestration.queue.InProcessTaskQueue;
+import com.example.agentic.orchestration.queue.SocketTaskQueue;
+import com.example.agentic.orchestration.queue.SocketTaskWorker;
+import com.example.agentic.orchestration.queue.TaskQueue;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.mcp.SyncMcpToolCallbackProvider;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.util.StringUtils;
 
 // ------------------------------------------------------------
 // ORCHESTRATOR WORKERS
 // ------------------------------------------------------------
 @SpringBootApplication
+@EnableConfigurationProperties(AgenticProperties.class)
 public class Application {
 
 	public static void main(String[] args) {
@@ -40,90 +53,70 @@ public class Application {
 	}
 
 	@Bean
-	public CommandLineRunner commandLineRunner(ChatClient.Builder chatClientBuilder, List<McpSyncClient> mcpClients) {
+	public CommandLineRunner commandLineRunner(ChatClient.Builder chatClientBuilder, AgentCatalog agents,
+			ModelRouter modelRouter, ToolOutputCompressor toolOutputCompressor, AgenticProperties properties,
+			ObjectMapper objectMapper) {
 
 		return args -> {
 
-			var searchAgent = new McpAgent("searcher",
-					"""
-							You are an expert web researcher. Your role is to:
-								1. Search for relevant, authoritative sources on the given topic
-								2. Visit the most promising URLs to gather detailed information
-								3. Return a structured summary of your findings with source URLs
-								4. Save each individual source in my in my spring-mcp-agent directory. We only need up to 10 sources max.
-
-								Focus on high-quality sources like academic papers, respected tech publications,
-								and official documentation.
-
-								""",
-					List.of("brave", "fetch", "filesystem"),
-
-					withMcpTools(chatClientBuilder, mcpClients, List.of("brave", "fetch", "filesystem")).build());
-
-			var factChecker = new McpAgent("fact_checker",
-					"""
-							You are a meticulous fact checker. Your role is to:
-										1. Verify claims by cross-referencing sources
-										2. Check dates, statistics, and technical details for accuracy
-										3. Identify any contradictions or inconsistencies
-
-										Sources are provided by the search agent in my spring-mcp-agent directory.
-									""",
-					List.of("filesystem"),
-					withMcpTools(chatClientBuilder, mcpClients, List.of("filesystem")).build());
-
-			var reportWriter = new McpAgent("writer",
-					"""
-							You are a technical report writer specializing in research
-							         documents. Your role is to:
-							         1. Create well-structured, professional reports
-							         2. Include proper citations and references
-							         3. Balance technical depth with clarity
-
-							         Save your report to the filesystem in my spring-mcp-agent directory with appropriate formatting using markdown format.
-									""",
-					List.of("filesystem"),
-					withMcpTools(chatClientBuilder, mcpClients, List.of("filesystem")).build());
-
-			var orchestrator = new Orchestrator(chatClientBuilder.clone(), List.of(searchAgent, factChecker, reportWriter));
-
-			// PlanResult response = orchestrator.execute("Write a summary about Spring AI and MCP Java SDK advancements",
-			// 		new Orchestrator.RequestParams(3, 16384));
-			PlanResult response = orchestrator.execute("Write a shot report on the latest advancements in AI",
-					new Orchestrator.RequestParams(3, 16384));
-
-
-			System.out.println("Result: " + response);
+			var models = properties.models();
+			var workers = properties.workers();
+			var taskExecutor = new AgentTaskExecutor(agents, modelRouter);
+
+			if (workers.port() != null) {
+				// Worker mode: host the agents and execute the tasks of remote orchestrators
+				try (var worker = new SocketTaskWorker(taskExecutor, objectMapper,
+						InetAddress.getByName(workers.bindAddress()), workers.port(), workers.parallelism())) {
+					worker.start();
+					worker.awaitClose();
+				}
+				return;
+			}
+
+			TaskQueue taskQueue = workers.addresses().isEmpty() ? new InProcessTaskQueue(taskExecutor)
+					: new SocketTaskQueue(workers.addresses().stream().map(Application::toSocketAddress).toList(),
+							objectMapper, workers.taskTimeout());
+
+			try (var orchestrator = new Orchestrator(
+					AgentConfiguration.withModel(chatClientBuilder.clone(), models.planner()),
+					StringUtils.hasText(models.synthesizer())
+							? AgentConfiguration.withModel(chatClientBuilder.clone(), models.synthesizer())
+							: null,
+					agents, taskQueue, ResultStore::new)) {
+
+				var requestParams = properties.orchestrator().requestParams();
+
+				var batch = properties.batch();
+				if (StringUtils.hasText(batch.input())) {
+					// Batch mode: all objectives share the agents and MCP clients started once
+					var summary = new BatchRunner(orchestrator, objectMapper, batch.parallelism())
+							.run(Path.of(batch.input()), Path.of(batch.output()), requestParams);
+
+					System.out.println("Batch: " + summary);
+					System.out.println("Model stats: " + modelRouter.getStats());
+					System.out.println("Tool output stats: " + toolOutputCompressor.getStats());
+					System.out.println("Reused task results: " + orchestrator.getReusedTaskResults());
+					return;
+				}
+
+				PlanResult response = orchestrator.execute(properties.orchestrator().objective(), requestParams);
+
+				System.out.println("Result: " + response);
+				System.out.println("Model stats: " + modelRouter.getStats());
+				System.out.println("Tool output stats: " + toolOutputCompressor.getStats());
+				System.out.println("Reused task results: " + orchestrator.getReusedTaskResults());
+			}
 
 		};
 	}
 
-	private static class FilteredMcpToolCallbackProvider extends SyncMcpToolCallbackProvider {
-
-		public FilteredMcpToolCallbackProvider(List<String> serverNames, List<McpSyncClient> mcpClients) {
-			super(filterMcpClients(mcpClients, serverNames));
+	private static InetSocketAddress toSocketAddress(String address) {
+		int separator = address.lastIndexOf(':');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Invalid worker address, expected host:port: " + address);
 		}
-
-		public FilteredMcpToolCallbackProvider(List<String> serverNames, McpSyncClient... mcpClients) {
-			super(filterMcpClients(List.of(mcpClients), serverNames));
-		}
-
-		private static List<McpSyncClient> filterMcpClients(List<McpSyncClient> mcpClients, List<String> serverNames) {
-			return mcpClients.stream()
-					.filter(mcpClient -> {
-						var mcpServerName = mcpClient.getServerInfo().name();
-						return serverNames.stream()
-								.anyMatch(serverName -> mcpServerName.contains(serverName));
-					})
-					.toList();
-		}
-
-	}
-
-	private ChatClient.Builder withMcpTools(ChatClient.Builder chatClientBulder, List<McpSyncClient> mcpClients,
-			List<String> serverNames) {
-		return chatClientBulder.clone()
-				.defaultTools(new FilteredMcpToolCallbackProvider(serverNames, mcpClients));
+		return InetSocketAddress.createUnresolved(address.substring(0, separator),
+				Integer.parseInt(address.substring(separator + 1)));
 	}
 
 }
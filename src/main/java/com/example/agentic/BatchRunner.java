@@ -0,0 +1,172 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.agentic.orchestration.Orchestrator;
+import com.example.agentic.orchestration.Types.PlanResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Executes objectives read from a JSONL file against a single, shared
+ * {@link Orchestrator}, so the application startup, the MCP server processes and the
+ * agents are shared by the whole batch.
+ *
+ * Each input line is a JSON object with an "objective" and an optional "id" field. A
+ * malformed line is reported as a failed result, identified by its line number.
+ * Objectives are executed concurrently, up to the configured parallelism. Reading the
+ * input blocks while all workers are busy, and every result is appended to the output
+ * JSONL file as soon as it is available.
+ *
+ * @author Christian Tzolov
+ */
+public class BatchRunner {
+
+	/**
+	 * An input line of the batch.
+	 */
+	public record BatchObjective(String id, String objective) {
+	}
+
+	/**
+	 * An output line of the batch. Either the plan result or the error is set.
+	 */
+	public record BatchResult(String id, String objective, PlanResult planResult, String error) {
+	}
+
+	/**
+	 * Counters of a completed batch.
+	 */
+	public record BatchSummary(int total, int succeeded, int failed) {
+	}
+
+	private final Orchestrator orchestrator;
+
+	private final ObjectMapper objectMapper;
+
+	private final int parallelism;
+
+	public BatchRunner(Orchestrator orchestrator, ObjectMapper objectMapper, int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be greater than 0");
+		}
+		this.orchestrator = orchestrator;
+		this.objectMapper = objectMapper;
+		this.parallelism = parallelism;
+	}
+
+	public BatchSummary run(Path input, Path output, Orchestrator.RequestParams requestParams)
+			throws IOException, InterruptedException {
+
+		ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+		Semaphore permits = new Semaphore(this.parallelism);
+		AtomicInteger succeeded = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+		int total = 0;
+
+		try (BufferedReader reader = Files.newBufferedReader(input);
+				BufferedWriter writer = Files.newBufferedWriter(output)) {
+
+			try {
+				String line;
+				int lineNumber = 0;
+				while ((line = reader.readLine()) != null) {
+					lineNumber++;
+					if (line.isBlank()) {
+						continue;
+					}
+					total++;
+
+					BatchObjective objective;
+					try {
+						objective = this.parseObjective(line, lineNumber);
+					} catch (Exception e) {
+						// A malformed line fails on its own, the rest of the batch goes on
+						String error = "Invalid objective at line %s: %s".formatted(lineNumber, e.getMessage());
+						System.out.println(error);
+						failed.incrementAndGet();
+						this.write(writer, new BatchResult(String.valueOf(lineNumber), null, null, error));
+						continue;
+					}
+
+					// Backpressure: do not read ahead of the available workers
+					permits.acquire();
+					executor.execute(() -> {
+						try {
+							BatchResult result = this.execute(objective, requestParams);
+							(result.error() == null ? succeeded : failed).incrementAndGet();
+							this.write(writer, result);
+						} finally {
+							permits.release();
+						}
+					});
+				}
+			} finally {
+				// Drain the running objectives before the writer is closed
+				executor.shutdown();
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return new BatchSummary(total, succeeded.get(), failed.get());
+	}
+
+	private BatchObjective parseObjective(String line, int lineNumber) throws IOException {
+		BatchObjective objective = this.objectMapper.readValue(line, BatchObjective.class);
+		if (objective.objective() == null || objective.objective().isBlank()) {
+			throw new IllegalArgumentException("Missing objective");
+		}
+		String id = (objective.id() != null) ? objective.id() : String.valueOf(lineNumber);
+		return new BatchObjective(id, objective.objective());
+	}
+
+	private BatchResult execute(BatchObjective objective, Orchestrator.RequestParams requestParams) {
+		try {
+			PlanResult planResult = this.orchestrator.execute(objective.objective(), requestParams);
+			return new BatchResult(objective.id(), objective.objective(), planResult, null);
+		} catch (Exception e) {
+			System.out.println("Objective %s failed: %s".formatted(objective.id(), e.getMessage()));
+			return new BatchResult(objective.id(), objective.objective(), null, String.valueOf(e.getMessage()));
+		}
+	}
+
+	private void write(BufferedWriter writer, BatchResult result) {
+		try {
+			String json = this.objectMapper.writeValueAsString(result);
+			synchronized (writer) {
+				writer.write(json);
+				writer.newLine();
+				writer.flush();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to write the result of objective " + result.id(), e);
+		}
+	}
+
+}
@@ -18,6 +18,7 @@ package com.example.agentic;
 import java.util.List;
 
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.tool.ToolCallback;
 
 /**
  * @author Christian Tzolov
@@ -43,12 +44,28 @@ public class McpAgent {
 	 * server's tools for the selected server names.
 	 */
 	private ChatClient chatClient;
+	/**
+	 * The tools of the agent's MCP servers, attached per request. When empty, the
+	 * ChatClient is expected to be configured with the tools as default tools.
+	 */
+	private List<ToolCallback> toolCallbacks;
+	/**
+	 * Names, or name fragments, of the tools attached to every task of the agent.
+	 */
+	private List<String> pinnedTools;
 
 	public McpAgent(String name, String description, List<String> serverNames, ChatClient chatClient) {
+		this(name, description, serverNames, chatClient, List.of(), List.of());
+	}
+
+	public McpAgent(String name, String description, List<String> serverNames, ChatClient chatClient,
+			List<ToolCallback> toolCallbacks, List<String> pinnedTools) {
 		this.name = name;
 		this.instruction = description;
 		this.serverNames = serverNames;
 		this.chatClient = chatClient;
+		this.toolCallbacks = toolCallbacks;
+		this.pinnedTools = pinnedTools;
 	}
 
 	public String getName() {
@@ -67,6 +84,14 @@ public class McpAgent {
 		return chatClient;
 	}
 
+	public List<ToolCallback> getToolCallbacks() {
+		return toolCallbacks;
+	}
+
+	public List<String> getPinnedTools() {
+		return pinnedTools;
+	}
+
 	@Override
 	public String toString() {
 		return "McpAgent{" +
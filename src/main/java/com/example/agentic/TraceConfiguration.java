@@ -0,0 +1,93 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.example.agentic.trace.RecordingChatModel;
+import com.example.agentic.trace.ReplayChatModel;
+import com.example.agentic.trace.TraceRecorder;
+import com.example.agentic.trace.TraceReplay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Record and replay of the model and MCP tool exchanges, see
+ * {@link AgenticProperties.Trace}.
+ *
+ * The tool calling loop runs in the recording and replay chat models, so every model
+ * turn is recorded and the replayed tool calls go through the agent tool callbacks.
+ *
+ * In replay mode the model and MCP client auto-configurations should be disabled, for
+ * example with the replay profile, so the application runs without network access.
+ *
+ * @author Christian Tzolov
+ */
+@Configuration(proxyBeanMethods = false)
+public class TraceConfiguration {
+
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(name = "agentic.trace.mode", havingValue = "record")
+	public TraceRecorder traceRecorder(AgenticProperties properties, ObjectMapper objectMapper) throws IOException {
+		return new TraceRecorder(Path.of(properties.trace().file()), objectMapper);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "agentic.trace.mode", havingValue = "record")
+	public static BeanPostProcessor recordingChatModelPostProcessor(ObjectProvider<TraceRecorder> traceRecorder,
+			ObjectProvider<ToolCallingManager> toolCallingManager) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof ChatModel chatModel && !(bean instanceof RecordingChatModel)) {
+					return new RecordingChatModel(chatModel, traceRecorder.getIfAvailable(),
+							toolCallingManager(toolCallingManager));
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "agentic.trace.mode", havingValue = "replay")
+	public TraceReplay traceReplay(AgenticProperties properties, ObjectMapper objectMapper) throws IOException {
+		return new TraceReplay(Path.of(properties.trace().file()), objectMapper, properties.trace().latency());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "agentic.trace.mode", havingValue = "replay")
+	public ChatModel replayChatModel(TraceReplay traceReplay, ObjectProvider<ToolCallingManager> toolCallingManager) {
+		return new ReplayChatModel(traceReplay, toolCallingManager(toolCallingManager));
+	}
+
+	/**
+	 * The tool calling manager of the model auto-configuration, which is disabled in
+	 * replay mode.
+	 */
+	private static ToolCallingManager toolCallingManager(ObjectProvider<ToolCallingManager> toolCallingManager) {
+		return toolCallingManager.getIfAvailable(() -> ToolCallingManager.builder().build());
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.example.agentic.McpAgent;
+
+/**
+ * Thread-safe catalog of the agents available to the orchestrator. Agents can be
+ * registered and removed while plans are executing.
+ *
+ * The agent instructions and server names are indexed, so the planner prompt can
+ * include only the agents relevant to the objective instead of the whole catalog.
+ *
+ * @author Christian Tzolov
+ */
+public class AgentCatalog {
+
+	private final ConcurrentMap<String, McpAgent> agents = new ConcurrentHashMap<>();
+
+	private final Bm25Index<String> index = new Bm25Index<>();
+
+	public AgentCatalog() {
+	}
+
+	public AgentCatalog(List<McpAgent> agents) {
+		agents.forEach(this::register);
+	}
+
+	/**
+	 * Register an agent, replacing any agent with the same name.
+	 */
+	public void register(McpAgent agent) {
+		this.agents.put(agent.getName(), agent);
+		this.index.add(agent.getName(), agent.getName().replace('_', ' ') + "\n" + agent.getInstruction() + "\n"
+				+ String.join(" ", agent.getServerNames()));
+	}
+
+	public void unregister(String agentName) {
+		this.index.remove(agentName);
+		this.agents.remove(agentName);
+	}
+
+	public McpAgent get(String agentName) {
+		return this.agents.get(agentName);
+	}
+
+	public Collection<McpAgent> getAll() {
+		return List.copyOf(this.agents.values());
+	}
+
+	public int size() {
+		return this.agents.size();
+	}
+
+	/**
+	 * Select up to topK agents relevant to the query, best match first. The whole
+	 * catalog is returned if it has no more than topK agents.
+	 */
+	public List<McpAgent> select(String query, int topK) {
+		if (this.agents.size() <= topK) {
+			return this.agents.values().stream()
+					.sorted(Comparator.comparing(McpAgent::getName))
+					.toList();
+		}
+
+		List<McpAgent> selected = new ArrayList<>(this.index.search(query, topK)
+				.stream()
+				.map(hit -> this.agents.get(hit.key()))
+				.filter(Objects::nonNull)
+				.toList());
+
+		if (selected.isEmpty()) {
+			// No lexical match, keep the planner working with a stable subset
+			selected.addAll(this.agents.values().stream()
+					.sorted(Comparator.comparing(McpAgent::getName))
+					.limit(topK)
+					.toList());
+		}
+		return selected;
+	}
+
+}
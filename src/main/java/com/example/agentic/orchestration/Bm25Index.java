@@ -0,0 +1,142 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Minimal in-memory BM25 index used to rank documents by lexical relevance to a
+ * query. Runs locally and needs no network or embedding model.
+ *
+ * @param <K> the document key type
+ * @author Christian Tzolov
+ */
+public class Bm25Index<K> {
+
+	private static final double K1 = 1.2;
+
+	private static final double B = 0.75;
+
+	static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for", "from",
+			"in", "into", "is", "it", "its", "of", "on", "or", "that", "the", "this", "to", "with", "your", "you");
+
+	/**
+	 * A ranked search hit.
+	 */
+	public record Hit<K>(K key, double score) {
+	}
+
+	private record Document(Map<String, Integer> termFrequencies, int length) {
+	}
+
+	private final Map<K, Document> documents = new LinkedHashMap<>();
+
+	private final Map<String, Integer> documentFrequencies = new HashMap<>();
+
+	private long totalLength;
+
+	/**
+	 * Add or replace the document for the given key.
+	 */
+	public synchronized void add(K key, String text) {
+		this.remove(key);
+
+		List<String> terms = tokenize(text);
+		Map<String, Integer> termFrequencies = new HashMap<>();
+		for (String term : terms) {
+			termFrequencies.merge(term, 1, Integer::sum);
+		}
+		for (String term : termFrequencies.keySet()) {
+			this.documentFrequencies.merge(term, 1, Integer::sum);
+		}
+		this.documents.put(key, new Document(termFrequencies, terms.size()));
+		this.totalLength += terms.size();
+	}
+
+	public synchronized void remove(K key) {
+		Document document = this.documents.remove(key);
+		if (document == null) {
+			return;
+		}
+		for (String term : document.termFrequencies().keySet()) {
+			this.documentFrequencies.computeIfPresent(term, (t, count) -> (count > 1) ? count - 1 : null);
+		}
+		this.totalLength -= document.length();
+	}
+
+	public synchronized int size() {
+		return this.documents.size();
+	}
+
+	/**
+	 * Return up to topK documents with a positive score, best match first.
+	 */
+	public synchronized List<Hit<K>> search(String query, int topK) {
+		if (this.documents.isEmpty() || topK < 1) {
+			return List.of();
+		}
+
+		Set<String> queryTerms = Set.copyOf(tokenize(query));
+		double averageLength = (double) this.totalLength / this.documents.size();
+		int documentCount = this.documents.size();
+
+		List<Hit<K>> hits = new ArrayList<>();
+		for (Map.Entry<K, Document> entry : this.documents.entrySet()) {
+			Document document = entry.getValue();
+			double score = 0;
+			for (String term : queryTerms) {
+				Integer frequency = document.termFrequencies().get(term);
+				if (frequency == null) {
+					continue;
+				}
+				int documentFrequency = this.documentFrequencies.get(term);
+				double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+				double norm = K1 * (1 - B + B * document.length() / Math.max(averageLength, 1));
+				score += idf * frequency * (K1 + 1) / (frequency + norm);
+			}
+			if (score > 0) {
+				hits.add(new Hit<>(entry.getKey(), score));
+			}
+		}
+
+		hits.sort(Comparator.comparingDouble((Hit<K> hit) -> hit.score()).reversed());
+		return (hits.size() > topK) ? List.copyOf(hits.subList(0, topK)) : hits;
+	}
+
+	/**
+	 * Lower-case alphanumeric terms of the text, without stop words.
+	 */
+	static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null) {
+			return terms;
+		}
+		for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+			if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+				terms.add(token);
+			}
+		}
+		return terms;
+	}
+
+}
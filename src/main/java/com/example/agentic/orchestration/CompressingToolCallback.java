@@ -0,0 +1,61 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+/**
+ * Tool callback decorator passing the tool outputs through a
+ * {@link ToolOutputCompressor}.
+ *
+ * @author Christian Tzolov
+ */
+public class CompressingToolCallback implements ToolCallback {
+
+	private final ToolCallback delegate;
+
+	private final ToolOutputCompressor compressor;
+
+	public CompressingToolCallback(ToolCallback delegate, ToolOutputCompressor compressor) {
+		this.delegate = delegate;
+		this.compressor = compressor;
+	}
+
+	@Override
+	public ToolDefinition getToolDefinition() {
+		return this.delegate.getToolDefinition();
+	}
+
+	@Override
+	public ToolMetadata getToolMetadata() {
+		return this.delegate.getToolMetadata();
+	}
+
+	@Override
+	public String call(String toolInput) {
+		return this.compressor.compress(this.getToolDefinition().name(), toolInput, this.delegate.call(toolInput));
+	}
+
+	@Override
+	public String call(String toolInput, ToolContext toolContext) {
+		return this.compressor.compress(this.getToolDefinition().name(), toolInput,
+				this.delegate.call(toolInput, toolContext));
+	}
+
+}
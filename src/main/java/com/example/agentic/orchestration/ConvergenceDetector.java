@@ -0,0 +1,111 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.example.agentic.orchestration.Types.AgentTask;
+import com.example.agentic.orchestration.Types.Plan;
+import com.example.agentic.orchestration.Types.Step;
+
+/**
+ * Detects a plan run that stopped making progress, so the orchestrator does not spend
+ * the remaining iterations re-planning and re-executing the same work.
+ *
+ * An iteration is stalled when it produced no new task result, or when its plan
+ * repeats one of the earlier plans: the Jaccard similarity of the plan fingerprints,
+ * the normalized terms of the steps, tasks and agents, reaches the threshold. The run
+ * has converged after maxStalledIterations consecutive stalled iterations.
+ *
+ * @author Christian Tzolov
+ */
+public class ConvergenceDetector {
+
+	public static final double DEFAULT_PLAN_SIMILARITY_THRESHOLD = 0.9;
+
+	private final List<Set<String>> planFingerprints = new ArrayList<>();
+
+	private final int maxStalledIterations;
+
+	private final double planSimilarityThreshold;
+
+	private int stalledIterations;
+
+	/**
+	 * @param maxStalledIterations number of consecutive stalled iterations after which
+	 * the run has converged. 0 disables the detection.
+	 */
+	public ConvergenceDetector(int maxStalledIterations) {
+		this(maxStalledIterations, DEFAULT_PLAN_SIMILARITY_THRESHOLD);
+	}
+
+	public ConvergenceDetector(int maxStalledIterations, double planSimilarityThreshold) {
+		if (maxStalledIterations < 0) {
+			throw new IllegalArgumentException("maxStalledIterations must not be negative");
+		}
+		if (planSimilarityThreshold <= 0 || planSimilarityThreshold > 1) {
+			throw new IllegalArgumentException("planSimilarityThreshold must be in the (0, 1] range");
+		}
+		this.maxStalledIterations = maxStalledIterations;
+		this.planSimilarityThreshold = planSimilarityThreshold;
+	}
+
+	/**
+	 * Record an executed iteration.
+	 * @param plan the plan of the iteration.
+	 * @param newTaskResults number of tasks executed by the iteration, excluding the
+	 * reused results of duplicate tasks.
+	 * @return true if the run has converged.
+	 */
+	public boolean record(Plan plan, int newTaskResults) {
+		Set<String> fingerprint = fingerprint(plan);
+		boolean repeatedPlan = this.planFingerprints.stream()
+				.anyMatch(previous -> TaskFingerprintIndex.similarity(fingerprint,
+						previous) >= this.planSimilarityThreshold);
+		this.planFingerprints.add(fingerprint);
+
+		if (repeatedPlan || newTaskResults == 0) {
+			this.stalledIterations++;
+			System.out.println("> Stalled iteration (repeated plan: %s, new task results: %s)"
+					.formatted(repeatedPlan, newTaskResults));
+		} else {
+			this.stalledIterations = 0;
+		}
+		return this.isConverged();
+	}
+
+	public boolean isConverged() {
+		return this.maxStalledIterations > 0 && this.stalledIterations >= this.maxStalledIterations;
+	}
+
+	public int getStalledIterations() {
+		return this.stalledIterations;
+	}
+
+	private static Set<String> fingerprint(Plan plan) {
+		StringBuilder text = new StringBuilder();
+		for (Step step : plan.steps()) {
+			text.append(step.description()).append('\n');
+			for (AgentTask task : step.tasks()) {
+				text.append(task.agent()).append(' ').append(task.description()).append('\n');
+			}
+		}
+		return TaskFingerprintIndex.fingerprint(text.toString());
+	}
+
+}
@@ -0,0 +1,81 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.function.Supplier;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+/**
+ * Tool callback decorator recording an {@link OrchestrationEvents.ToolInvocation} JFR
+ * event for every MCP tool call.
+ *
+ * @author Christian Tzolov
+ */
+public class InstrumentedToolCallback implements ToolCallback {
+
+	private final ToolCallback delegate;
+
+	private final String agent;
+
+	public InstrumentedToolCallback(ToolCallback delegate, String agent) {
+		this.delegate = delegate;
+		this.agent = agent;
+	}
+
+	@Override
+	public ToolDefinition getToolDefinition() {
+		return this.delegate.getToolDefinition();
+	}
+
+	@Override
+	public ToolMetadata getToolMetadata() {
+		return this.delegate.getToolMetadata();
+	}
+
+	@Override
+	public String call(String toolInput) {
+		return this.record(toolInput, () -> this.delegate.call(toolInput));
+	}
+
+	@Override
+	public String call(String toolInput, ToolContext toolContext) {
+		return this.record(toolInput, () -> this.delegate.call(toolInput, toolContext));
+	}
+
+	private String record(String toolInput, Supplier<String> call) {
+		var event = new OrchestrationEvents.ToolInvocation();
+		event.begin();
+		String response = null;
+		try {
+			response = call.get();
+			return response;
+		} finally {
+			if (event.shouldCommit()) {
+				event.agent = this.agent;
+				event.tool = this.delegate.getToolDefinition().name();
+				event.inputLength = (toolInput != null) ? toolInput.length() : 0;
+				event.responseLength = (response != null) ? response.length() : 0;
+				event.success = response != null;
+				event.commit();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,222 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import com.example.agentic.McpAgent;
+import com.example.agentic.orchestration.Types.AgentTask;
+
+import org.springframework.ai.chat.client.ChatClient;
+
+/**
+ * Routes agent tasks to one of the candidate models registered for the agent.
+ *
+ * The candidates are registered cheapest first. Each task is classified as simple or
+ * complex from its description, and complex tasks are not routed to the first,
+ * cheapest, candidate. Among the eligible candidates, the ones that have not been
+ * tried yet for the task complexity are selected first. Afterwards the candidate with
+ * the lowest observed latency among those with an acceptable success rate is
+ * preferred, with a small exploration rate so that the statistics of the other
+ * candidates stay current. A task succeeds when the model returns a non-blank
+ * response, the quality of the response is not assessed. Agents without registered
+ * candidates always use their own ChatClient.
+ *
+ * @author Christian Tzolov
+ */
+public class ModelRouter {
+
+	/**
+	 * Model name used for the agent's own ChatClient.
+	 */
+	public static final String DEFAULT_MODEL = "default";
+
+	/**
+	 * Task complexity classes, with separate statistics.
+	 */
+	public enum TaskComplexity {
+
+		SIMPLE, COMPLEX;
+
+		private static final int MAX_SIMPLE_TASK_TERMS = 20;
+
+		/**
+		 * Analysis and writing verbs, matched as whole words so that, for example,
+		 * writer or reasonable do not match.
+		 */
+		private static final Pattern COMPLEX_TASK = Pattern.compile("\\b(analy[sz](e|es|ed|ing)|analysis"
+				+ "|compar(e|es|ed|ing|ison)|evaluat(e|es|ed|ing|ion)|synthesi[sz](e|es|ed|ing)|reason(ing)?"
+				+ "|verif(y|ies|ied|ying)|fact.?check(s|ed|ing)?|critiqu(e|es|ed|ing)|(re)?writ(e|es|ing)"
+				+ "|draft(s|ed|ing)?)\\b", Pattern.CASE_INSENSITIVE);
+
+		/**
+		 * A task is complex when its description is long or asks for analysis or
+		 * writing.
+		 */
+		public static TaskComplexity of(AgentTask task) {
+			String description = task.description();
+			return (Bm25Index.tokenize(description).size() > MAX_SIMPLE_TASK_TERMS
+					|| COMPLEX_TASK.matcher(description).find()) ? COMPLEX : SIMPLE;
+		}
+
+	}
+
+	/**
+	 * A model the router can select for an agent.
+	 */
+	public record ModelCandidate(String model, ChatClient chatClient) {
+	}
+
+	/**
+	 * Observed statistics of a candidate model.
+	 */
+	public static class ModelStats {
+
+		private static final double LATENCY_SMOOTHING = 0.3;
+
+		private long calls;
+
+		private long failures;
+
+		private double averageLatencyMillis;
+
+		synchronized void record(long durationMillis, boolean success) {
+			this.averageLatencyMillis = (this.calls == 0) ? durationMillis
+					: LATENCY_SMOOTHING * durationMillis + (1 - LATENCY_SMOOTHING) * this.averageLatencyMillis;
+			this.calls++;
+			if (!success) {
+				this.failures++;
+			}
+		}
+
+		public synchronized long calls() {
+			return this.calls;
+		}
+
+		public synchronized double successRate() {
+			// Prior of 4 successes in 5 calls, so a candidate with a single success is
+			// judged on its latency, and a single failure does not exclude a candidate
+			// with a good history
+			return (this.calls - this.failures + 4.0) / (this.calls + 5.0);
+		}
+
+		public synchronized double averageLatencyMillis() {
+			return this.averageLatencyMillis;
+		}
+
+		@Override
+		public synchronized String toString() {
+			return "ModelStats{calls=%d, successRate=%.2f, averageLatencyMillis=%.0f}"
+					.formatted(this.calls, successRate(), this.averageLatencyMillis);
+		}
+	}
+
+	private final Map<String, List<ModelCandidate>> candidates = new ConcurrentHashMap<>();
+
+	private final Map<String, ModelStats> stats = new ConcurrentHashMap<>();
+
+	private final double minSuccessRate;
+
+	private final double explorationRate;
+
+	public ModelRouter() {
+		this(0.8, 0.05);
+	}
+
+	public ModelRouter(double minSuccessRate, double explorationRate) {
+		this.minSuccessRate = minSuccessRate;
+		this.explorationRate = explorationRate;
+	}
+
+	/**
+	 * Register a candidate model for the given agent. Candidates are registered
+	 * cheapest first.
+	 */
+	public ModelRouter register(String agentName, String model, ChatClient chatClient) {
+		this.candidates.computeIfAbsent(agentName, name -> new CopyOnWriteArrayList<>())
+				.add(new ModelCandidate(model, chatClient));
+		return this;
+	}
+
+	/**
+	 * Select the model to execute the task with.
+	 */
+	public ModelCandidate select(McpAgent agent, AgentTask task) {
+		List<ModelCandidate> agentCandidates = this.candidates.get(agent.getName());
+		if (agentCandidates == null || agentCandidates.isEmpty()) {
+			return new ModelCandidate(DEFAULT_MODEL, agent.getChatClient());
+		}
+
+		TaskComplexity complexity = TaskComplexity.of(task);
+		if (complexity == TaskComplexity.COMPLEX && agentCandidates.size() > 1) {
+			agentCandidates = agentCandidates.subList(1, agentCandidates.size());
+		}
+
+		if (agentCandidates.size() > 1 && ThreadLocalRandom.current().nextDouble() < this.explorationRate) {
+			return agentCandidates.get(ThreadLocalRandom.current().nextInt(agentCandidates.size()));
+		}
+
+		ModelCandidate best = null;
+		double bestLatency = Double.MAX_VALUE;
+		for (ModelCandidate candidate : agentCandidates) {
+			ModelStats candidateStats = this.getStats(agent.getName(), candidate.model(), complexity);
+			if (candidateStats.calls() == 0) {
+				return candidate;
+			}
+			if (candidateStats.successRate() >= this.minSuccessRate
+					&& candidateStats.averageLatencyMillis() < bestLatency) {
+				best = candidate;
+				bestLatency = candidateStats.averageLatencyMillis();
+			}
+		}
+
+		// No candidate is reliable enough, fall back to the most reliable one
+		if (best == null) {
+			double bestSuccessRate = -1;
+			for (ModelCandidate candidate : agentCandidates) {
+				double successRate = this.getStats(agent.getName(), candidate.model(), complexity).successRate();
+				if (successRate > bestSuccessRate) {
+					best = candidate;
+					bestSuccessRate = successRate;
+				}
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Record the outcome of a task executed with the given model.
+	 */
+	public void record(String agentName, String model, TaskComplexity complexity, long durationMillis,
+			boolean success) {
+		this.getStats(agentName, model, complexity).record(durationMillis, success);
+	}
+
+	public ModelStats getStats(String agentName, String model, TaskComplexity complexity) {
+		return this.stats.computeIfAbsent(agentName + "/" + model + "/" + complexity, key -> new ModelStats());
+	}
+
+	public Map<String, ModelStats> getStats() {
+		return Map.copyOf(this.stats);
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.function.Supplier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events emitted on the orchestration hot paths.
+ *
+ * The events are disabled unless a recording enables them, for example:
+ * {@code java -XX:StartFlightRecording=settings=profile,filename=agent.jfr -jar ...}.
+ * Their duration is the time spent in the instrumented operation.
+ *
+ * @author Christian Tzolov
+ */
+public final class OrchestrationEvents {
+
+	private OrchestrationEvents() {
+	}
+
+	@Name("com.example.agentic.PlanGeneration")
+	@Label("Plan Generation")
+	@Category({ "Agentic", "Orchestration" })
+	@StackTrace(false)
+	public static class PlanGeneration extends Event {
+
+		@Label("Iteration")
+		public int iteration;
+
+		@Label("Prompt Length")
+		@Description("Number of characters")
+		public long promptLength;
+
+		@Label("Steps")
+		public int steps;
+
+		@Label("Complete")
+		public boolean complete;
+	}
+
+	@Name("com.example.agentic.StepExecution")
+	@Label("Step Execution")
+	@Category({ "Agentic", "Orchestration" })
+	@StackTrace(false)
+	public static class StepExecution extends Event {
+
+		@Label("Step")
+		public String step;
+
+		@Label("Tasks")
+		public int tasks;
+
+		@Label("Reused Tasks")
+		public int reusedTasks;
+	}
+
+	@Name("com.example.agentic.TaskExecution")
+	@Label("Task Execution")
+	@Category({ "Agentic", "Orchestration" })
+	@StackTrace(false)
+	public static class TaskExecution extends Event {
+
+		@Label("Agent")
+		public String agent;
+
+		@Label("Model")
+		public String model;
+
+		@Label("Tools")
+		@Description("Number of tools attached to the request")
+		public int tools;
+
+		@Label("Prompt Length")
+		@Description("Number of characters")
+		public long promptLength;
+
+		@Label("Response Length")
+		@Description("Number of characters")
+		public long responseLength;
+
+		@Label("Success")
+		public boolean success;
+	}
+
+	@Name("com.example.agentic.ToolInvocation")
+	@Label("MCP Tool Invocation")
+	@Category({ "Agentic", "Tools" })
+	@StackTrace(false)
+	public static class ToolInvocation extends Event {
+
+		@Label("Agent")
+		public String agent;
+
+		@Label("Tool")
+		public String tool;
+
+		@Label("Input Length")
+		@Description("Number of characters")
+		public long inputLength;
+
+		@Label("Response Length")
+		@Description("Number of characters")
+		public long responseLength;
+
+		@Label("Success")
+		public boolean success;
+	}
+
+	@Name("com.example.agentic.ToolOutputCompression")
+	@Label("Tool Output Compression")
+	@Category({ "Agentic", "Tools" })
+	@StackTrace(false)
+	public static class ToolOutputCompression extends Event {
+
+		@Label("Tool")
+		public String tool;
+
+		@Label("Original Size")
+		@Description("Number of UTF-8 bytes")
+		public long originalBytes;
+
+		@Label("Compressed Size")
+		@Description("Number of UTF-8 bytes")
+		public long compressedBytes;
+
+		@Label("Summarized")
+		public boolean summarized;
+	}
+
+	@Name("com.example.agentic.PromptRendering")
+	@Label("Prompt Rendering")
+	@Category({ "Agentic", "Prompts" })
+	@StackTrace(false)
+	public static class PromptRendering extends Event {
+
+		@Label("Template")
+		public String template;
+
+		@Label("Prompt Length")
+		@Description("Number of characters")
+		public long promptLength;
+	}
+
+	/**
+	 * Render a prompt, recording a {@link PromptRendering} event.
+	 */
+	static String renderPrompt(String template, Supplier<String> renderer) {
+		var event = new PromptRendering();
+		event.begin();
+		String prompt = renderer.get();
+		if (event.shouldCommit()) {
+			event.template = template;
+			event.promptLength = prompt.length();
+			event.commit();
+		}
+		return prompt;
+	}
+
+}
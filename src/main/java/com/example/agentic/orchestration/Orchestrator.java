@@ -15,29 +15,72 @@
 */
 package com.example.agentic.orchestration;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import com.example.agentic.McpAgent;
 import com.example.agentic.orchestration.Types.AgentTask;
 import com.example.agentic.orchestration.Types.Plan;
 import com.example.agentic.orchestration.Types.Step;
 import com.example.agentic.orchestration.Types.TaskWithResult;
+import com.example.agentic.orchestration.queue.AgentTaskExecutor;
+import com.example.agentic.orchestration.queue.InProcessTaskQueue;
+import com.example.agentic.orchestration.queue.TaskQueue;
+import com.example.agentic.orchestration.queue.TaskRequest;
 
 import org.springframework.ai.chat.client.ChatClient;
 
 /**
  * @author Christian Tzolov
  */
-public class Orchestrator {
+public class Orchestrator implements AutoCloseable {
 
 	private final ChatClient planner;
 
-	private final Map<String, McpAgent> agents;
+	private final SynthesisPipeline synthesisPipeline;
 
-	public record RequestParams(int maxIterations, int maxTokens) {
+	private final ExecutorService executor;
+
+	private final AgentCatalog agents;
+
+	private final TaskQueue taskQueue;
+
+	private final Supplier<ResultStore> resultStores;
+
+	/**
+	 * Number of tasks answered from the result of an already executed task, each one
+	 * an avoided agent LLM call.
+	 */
+	private final AtomicLong reusedTaskResults = new AtomicLong();
+
+	/**
+	 * @param maxIterations maximum number of planning iterations.
+	 * @param maxTokens maximum number of tokens.
+	 * @param contextTopK maximum number of prior task results passed as context to a
+	 * task.
+	 * @param contextMaxChars maximum size, in characters, of the context passed to a
+	 * task.
+	 * @param maxPlannerAgents maximum number of agents, the most relevant to the
+	 * objective, offered to the planner.
+	 * @param maxStalledIterations number of consecutive iterations without progress
+	 * after which the execution stops early. 0 disables the early stop.
+	 * @param earlyStop what the execution returns when it stops early or reaches
+	 * maxIterations without completing the plan.
+	 * @param duplicateSimilarity minimum similarity of a task to an executed task for
+	 * the executed task result to be reused. 0 disables the reuse.
+	 */
+	public record RequestParams(int maxIterations, int maxTokens, int contextTopK, int contextMaxChars,
+			int maxPlannerAgents, int maxStalledIterations, EarlyStop earlyStop, double duplicateSimilarity) {
 
 		public RequestParams {
 			if (maxIterations < 1) {
@@ -46,6 +89,29 @@ public class Orchestrator {
 			if (maxTokens < 1) {
 				throw new IllegalArgumentException("maxTokens must be greater than 0");
 			}
+			if (contextTopK < 1) {
+				throw new IllegalArgumentException("contextTopK must be greater than 0");
+			}
+			if (contextMaxChars < 1) {
+				throw new IllegalArgumentException("contextMaxChars must be greater than 0");
+			}
+			if (maxPlannerAgents < 1) {
+				throw new IllegalArgumentException("maxPlannerAgents must be greater than 0");
+			}
+			if (maxStalledIterations < 0) {
+				throw new IllegalArgumentException("maxStalledIterations must not be negative");
+			}
+			if (earlyStop == null) {
+				throw new IllegalArgumentException("earlyStop must not be null");
+			}
+			if (duplicateSimilarity < 0 || duplicateSimilarity > 1) {
+				throw new IllegalArgumentException("duplicateSimilarity must be in the [0, 1] range");
+			}
+		}
+
+		public RequestParams(int maxIterations, int maxTokens) {
+			this(maxIterations, maxTokens, 5, 24000, 10, 2, EarlyStop.SYNTHESIZE,
+					TaskFingerprintIndex.DEFAULT_SIMILARITY_THRESHOLD);
 		}
 
 		public RequestParams() {
@@ -53,7 +119,49 @@ public class Orchestrator {
 		}
 	}
 
+	/**
+	 * Result of an execution that stops before the planner completes the plan.
+	 */
+	public enum EarlyStop {
+
+		/**
+		 * Synthesize the final result from the steps executed so far.
+		 */
+		SYNTHESIZE,
+
+		/**
+		 * Return the executed steps without a final result.
+		 */
+		PARTIAL,
+
+		/**
+		 * Throw an IllegalStateException.
+		 */
+		FAIL
+
+	}
+
 	public Orchestrator(ChatClient.Builder plannerBuilder, List<McpAgent> agents) {
+		this(plannerBuilder, new AgentCatalog(agents));
+	}
+
+	private Orchestrator(ChatClient.Builder plannerBuilder, AgentCatalog agents) {
+		this(plannerBuilder, null, agents,
+				new InProcessTaskQueue(new AgentTaskExecutor(agents, new ModelRouter())), ResultStore::new);
+	}
+
+	/**
+	 * @param plannerBuilder builder for the ChatClient used to generate plans.
+	 * @param synthesizerBuilder builder for the ChatClient used to synthesize the
+	 * final result. If null the planner is used for synthesis.
+	 * @param agents catalog of the agents available to the planner.
+	 * @param taskQueue dispatches the agent tasks to the workers hosting the agents.
+	 * Closed with the orchestrator.
+	 * @param resultStores creates the store of each plan run, spilling the large task
+	 * results off-heap. The store is closed when the run completes.
+	 */
+	public Orchestrator(ChatClient.Builder plannerBuilder, ChatClient.Builder synthesizerBuilder,
+			AgentCatalog agents, TaskQueue taskQueue, Supplier<ResultStore> resultStores) {
 		this.planner = plannerBuilder
 				.defaultSystem(
 						"""
@@ -62,96 +170,218 @@ public class Orchestrator {
 								which can be performed by LLMs with access to the servers or agents.
 								""")
 				.build();
-		this.agents = agents.stream()
-				.collect(Collectors.toMap(McpAgent::getName, agent -> agent));
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "orchestrator-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.synthesisPipeline = new SynthesisPipeline(
+				(synthesizerBuilder != null) ? synthesizerBuilder.build() : this.planner, this.executor);
+		this.agents = agents;
+		this.taskQueue = taskQueue;
+		this.resultStores = resultStores;
+	}
+
+	public long getReusedTaskResults() {
+		return this.reusedTaskResults.get();
 	}
 
+	/**
+	 * Execute the objective. The task results of the returned plan result are fully
+	 * loaded, as the spilled payloads of the run are released when it completes.
+	 */
 	public Types.PlanResult execute(String objective, RequestParams requestParams) {
+		try (ResultStore resultStore = this.resultStores.get()) {
+			return withLoadedResults(this.execute(objective, requestParams, resultStore));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to release the task results", e);
+		}
+	}
+
+	private Types.PlanResult execute(String objective, RequestParams requestParams, ResultStore resultStore) {
 		var planResult = new Types.PlanResult(objective);
 
-		int iteration = 0;
-		while (requestParams.maxIterations >= iteration) {
-			iteration++;
+		// Completed task results, ranked per task to select the relevant context
+		var resultIndex = new Bm25Index<TaskWithResult>();
 
-			var plan = generatePlan(objective, planResult, requestParams);
+		// Executed tasks, used to skip the near-duplicates emitted on re-planning
+		var fingerprintIndex = new TaskFingerprintIndex(requestParams.duplicateSimilarity());
 
-			planResult = planResult.withPlan(plan);
+		// Step summaries computed in the background while the next steps execute
+		List<Future<String>> stepSummaries = new ArrayList<>();
 
-			if (plan.isComplete()) {
-				planResult = planResult.withCompletion(true);
+		// Stops re-planning once the iterations no longer make progress
+		var convergenceDetector = new ConvergenceDetector(requestParams.maxStalledIterations());
 
-				String synthesisPrompt = OrchestratorPrompts.SYNTHESIZE_PLAN_PROMPT_TEMPLATE
-						.formatted(ResultFormatter.formatPlanResult(planResult));
+		try {
+			int iteration = 0;
+			while (iteration < requestParams.maxIterations) {
+				iteration++;
 
-				var planResultResult = this.planner.prompt()
-						.user(synthesisPrompt)
-						.call().content();
+				var plan = generatePlan(objective, planResult, iteration, requestParams);
 
-				planResult = planResult.withFinalResult(planResultResult);
+				planResult = planResult.withPlan(plan);
 
-				return planResult;
+				if (plan.isComplete()) {
+					planResult = planResult.withCompletion(true);
 
-			}
+					var planResultResult = this.synthesisPipeline.synthesize(planResult, stepSummaries);
 
-			// Execute each step, collecting results
-			// Note that in iterative mode this will only be a single step
+					planResult = planResult.withFinalResult(planResultResult);
 
-			System.out.println("----------------------------------------------------------------------------");
-			System.out.println("> Plan Iteration: " + iteration +  ", isComplete: " + plan.isComplete());
-			
-			int stepIdx = 1;
-			for (var step : plan.steps()) {
-				System.out.println("    > Step: %s/%s: %s".formatted(stepIdx++, plan.steps().size(), step.description()));
-				
-				var setpResult = this.executeStep(step, planResult, requestParams);
+					return planResult;
+
+				}
+
+				// Execute each step, collecting results
+				// Note that in iterative mode this will only be a single step
+
+				System.out.println("----------------------------------------------------------------------------");
+				System.out.println("> Plan Iteration: " + iteration +  ", isComplete: " + plan.isComplete());
+
+				int taskResultsBefore = fingerprintIndex.size();
+				int stepIdx = 1;
+				for (var step : plan.steps()) {
+					System.out.println("    > Step: %s/%s: %s".formatted(stepIdx++, plan.steps().size(),
+							step.description()));
+
+					int stepTaskResultsBefore = fingerprintIndex.size();
+					var setpResult = this.executeStep(step, iteration, planResult, resultIndex, fingerprintIndex,
+							resultStore, requestParams);
+
+					planResult = planResult.withAddedStepResult(setpResult);
 
-				planResult = planResult.withAddedStepResult(setpResult);
+					// A step of reused results only repeats the summaries of the earlier steps
+					if (fingerprintIndex.size() > stepTaskResultsBefore) {
+						stepSummaries.add(this.synthesisPipeline.summarizeStep(setpResult));
+					}
+				}
+
+				if (convergenceDetector.record(plan, fingerprintIndex.size() - taskResultsBefore)) {
+					String reason = "No progress in the last %s iterations"
+							.formatted(convergenceDetector.getStalledIterations());
+					return this.stopEarly(planResult, stepSummaries, requestParams.earlyStop(), reason);
+				}
 			}
+
+			return this.stopEarly(planResult, stepSummaries, requestParams.earlyStop(),
+					"Max iterations (%s) reached without completing the plan".formatted(requestParams.maxIterations));
+		} finally {
+			// Stops the summary calls still running when the run fails or stops without
+			// synthesis, before the result store they read is closed
+			stepSummaries.forEach(stepSummary -> stepSummary.cancel(true));
 		}
+	}
 
-		throw new IllegalStateException(
-				"Max iterations (%s) reached without completing the plan".formatted(requestParams.maxIterations));
+	/**
+	 * Replace the spilled task results with their full content, so the plan result
+	 * outlives the result store of the run.
+	 */
+	private static Types.PlanResult withLoadedResults(Types.PlanResult planResult) {
+		var loaded = new Types.PlanResult(planResult.objective()).withPlan(planResult.plan());
+		for (Types.StepResult stepResult : planResult.stepResults()) {
+			var loadedStep = new Types.StepResult(stepResult.step()).withResult(stepResult.result());
+			for (TaskWithResult taskResult : stepResult.taskResults()) {
+				loadedStep = loadedStep.withAddedTaskResult(
+						new TaskWithResult(taskResult.description(), taskResult.content()));
+			}
+			loaded = loaded.withAddedStepResult(loadedStep);
+		}
+		return loaded.withCompletion(planResult.isComplete()).withFinalResult(planResult.result());
+	}
+
+	/**
+	 * Return the incomplete plan result according to the early stop policy.
+	 */
+	private Types.PlanResult stopEarly(Types.PlanResult planResult, List<Future<String>> stepSummaries,
+			EarlyStop earlyStop, String reason) {
+
+		System.out.println("> %s, early stop: %s".formatted(reason, earlyStop));
+
+		if (earlyStop == EarlyStop.SYNTHESIZE) {
+			return planResult.withFinalResult(this.synthesisPipeline.synthesize(planResult, stepSummaries));
+		}
+
+		if (earlyStop == EarlyStop.FAIL) {
+			throw new IllegalStateException(reason);
+		}
+		return planResult;
 	}
 
 	/**
 	 * Generate full plan considering previous results
 	 */
-	private Types.Plan generatePlan(String objective, Types.PlanResult previousPlanResult, RequestParams requestParams) {
+	private Types.Plan generatePlan(String objective, Types.PlanResult previousPlanResult, int iteration,
+			RequestParams requestParams) {
+
+		var event = new OrchestrationEvents.PlanGeneration();
+		event.begin();
 
+		// Only the agents relevant to the objective and the latest progress are offered
+		// to the planner
 		List<String> formattedAgentsList = new ArrayList<>();
 		int idx = 1;
-		for (Map.Entry<String, McpAgent> entry : agents.entrySet()) {
-			String key = entry.getKey();
-			McpAgent agent = entry.getValue();
-			formattedAgentsList.add((idx + 1) + ". " + this.formatAgentInfo(agent.getName()));
-			System.out.println("\n" + key + " -> " + agent);
+		for (McpAgent agent : this.agents.select(agentQuery(objective, previousPlanResult),
+				requestParams.maxPlannerAgents())) {
+			formattedAgentsList.add(idx + ". " + this.formatAgentInfo(agent));
+			System.out.println("\n" + agent.getName() + " -> " + agent);
 			idx++;
 		}
 
 		String formatedAgents = String.join("\n", formattedAgentsList);
 
-		var prompt = OrchestratorPrompts.PLAN_PROMPT_TEMPLATE
-				.formatted(objective, ResultFormatter.formatPlanResult(previousPlanResult), formatedAgents);
+		var prompt = OrchestratorPrompts.formatFullPlanPrompt(objective,
+				ResultFormatter.formatPlanResult(previousPlanResult), formatedAgents);
 
 		var plan = this.planner.prompt()
 				.user(prompt)
 				.call()
 				.entity(Plan.class);
 
+		if (event.shouldCommit()) {
+			event.iteration = iteration;
+			event.promptLength = prompt.length();
+			event.steps = plan.steps().size();
+			event.complete = plan.isComplete();
+			event.commit();
+		}
+
 		System.out.println("\nPlan: " + plan + "\n");
 		
 		return plan;
 	}
 
+	/**
+	 * Query selecting the planner agents: the objective and the tasks of the latest
+	 * step
+	 */
+	private static String agentQuery(String objective, Types.PlanResult planResult) {
+		StringBuilder query = new StringBuilder(objective);
+		if (!planResult.stepResults().isEmpty()) {
+			var lastStep = planResult.stepResults().get(planResult.stepResults().size() - 1);
+			query.append('\n').append(lastStep.step().description());
+			for (AgentTask task : lastStep.step().tasks()) {
+				query.append('\n').append(task.description());
+			}
+		}
+		return query.toString();
+	}
+
 	/**
 	 * Execute a step's subtasks in parallel and synthesize results
 	 */
-	private Types.StepResult executeStep(Step step, Types.PlanResult previousResult, RequestParams requestParams) {
+	private Types.StepResult executeStep(Step step, int iteration, Types.PlanResult previousResult,
+			Bm25Index<TaskWithResult> resultIndex, TaskFingerprintIndex fingerprintIndex, ResultStore resultStore,
+			RequestParams requestParams) {
 
-		Types.StepResult stepResult = new Types.StepResult(step);
+		var event = new OrchestrationEvents.StepExecution();
+		event.begin();
+		int reusedTasks = 0;
 
-		// Format previous results
-		String context = ResultFormatter.formatPlanResult(previousResult);
+		// Dispatch all the step tasks before waiting for any result, as they are
+		// independent
+		List<CompletableFuture<TaskWithResult>> taskResults = new ArrayList<>();
+		Map<AgentTask, CompletableFuture<TaskWithResult>> executedTasks = new LinkedHashMap<>();
 
 		int taskIdx = 1;
 		for (AgentTask task : step.tasks()) {
@@ -163,20 +393,62 @@ public class Orchestrator {
 				throw new IllegalStateException("Agent %s not found".formatted(task.agent()));
 			}
 
-			String task_description = OrchestratorPrompts.TASK_PROMPT_TEMPLATE.formatted(
+			var duplicate = fingerprintIndex.findDuplicate(task, iteration);
+			if (duplicate.isPresent()) {
+				this.reusedTaskResults.incrementAndGet();
+				reusedTasks++;
+				System.out.println("        Reusing the result of the executed task: " + duplicate.get().description());
+				taskResults.add(CompletableFuture.completedFuture(new TaskWithResult(task.description(),
+						duplicate.get().result(), duplicate.get().handle())));
+				continue;
+			}
+
+			// Only the prior results relevant to this task are passed as context
+			List<TaskWithResult> relevantResults = resultIndex
+					.search(task.description() + "\n" + step.description(), requestParams.contextTopK())
+					.stream()
+					.map(Bm25Index.Hit::key)
+					.toList();
+			if (relevantResults.isEmpty() && !previousResult.stepResults().isEmpty()) {
+				// No lexical match, fall back to the results of the latest step
+				relevantResults = previousResult.stepResults().get(previousResult.stepResults().size() - 1)
+						.taskResults();
+			}
+			String context = ResultFormatter.formatTaskContext(relevantResults, requestParams.contextMaxChars());
+
+			String task_description = OrchestratorPrompts.formatTaskPrompt(
 					previousResult.objective(),
 					task.description(),
 					context);
-			
-			var taskResult = agent.getChatClient().prompt()
-					.user(task_description)
-					.call()
-					.content();
-					
-			stepResult = stepResult.withAddedTaskResult(new TaskWithResult(task.description(), taskResult));
+
+			var taskResult = this.taskQueue.submit(new TaskRequest(agent.getName(), task.description(), task_description))
+					.thenApply(result -> resultStore.store(result.description(), result.result()));
+
+			executedTasks.put(task, taskResult);
+			taskResults.add(taskResult);
+		}
+
+		Types.StepResult stepResult = new Types.StepResult(step);
+		for (CompletableFuture<TaskWithResult> taskResult : taskResults) {
+			stepResult = stepResult.withAddedTaskResult(taskResult.join());
+		}
+
+		// The step result keeps the spilled payloads off-heap: the planner prompts and
+		// the step summaries format their previews, only the task contexts load them.
+
+		// Indexed once the step completes, as the step tasks are independent
+		executedTasks.forEach((task, taskResult) -> {
+			var taskWithResult = taskResult.join();
+			resultIndex.add(taskWithResult, taskWithResult.description() + "\n" + taskWithResult.content());
+			fingerprintIndex.add(task, taskWithResult, iteration);
+		});
+
+		if (event.shouldCommit()) {
+			event.step = step.description();
+			event.tasks = step.tasks().size();
+			event.reusedTasks = reusedTasks;
+			event.commit();
 		}
-		
-		stepResult = stepResult.withResult(ResultFormatter.formatStepResult(stepResult));
 
 		// System.out.println("Step result: " + stepResult.result());
 
@@ -205,12 +477,7 @@ public class Orchestrator {
 	/**
 	 * Format Agent information for display to planners
 	 */
-	private String formatAgentInfo(String agentName) {
-		McpAgent agent = this.agents.get(agentName);
-		if (agent == null) {
-			return "";
-		}
-
+	private String formatAgentInfo(McpAgent agent) {
 		List<String> formattedServers = new ArrayList<>();
 		for (String serverName : agent.getServerNames()) {
 			formattedServers.add("- " + this.formatServerInfo(serverName));
@@ -221,4 +488,13 @@ public class Orchestrator {
 				"\nDescription: " + agent.getInstruction() +
 				"\nServers in Agent: " + servers;
 	}
+
+	/**
+	 * Stop the background workers and close the task queue.
+	 */
+	@Override
+	public void close() {
+		this.executor.shutdownNow();
+		this.taskQueue.close();
+	}
 }
@@ -103,6 +103,17 @@ public class OrchestratorPrompts {
 			Synthesize the results of executing all steps in the plan into a cohesive result:
 			%s""";
 
+	public static final String SYNTHESIZE_SUMMARIES_PROMPT_TEMPLATE = """
+			Combine these summaries of consecutive plan steps into a single cohesive summary.
+			Preserve the key facts, figures and source references:
+			%s""";
+
+	public static final String SUMMARIZE_TOOL_OUTPUT_PROMPT_TEMPLATE = """
+			Condense the output of the %s tool called with %s.
+			Keep every fact, figure, name, date and URL that could answer the request.
+			Drop navigation, advertising and other boilerplate. Reply with the condensed output only:
+			%s""";
+
 	// Helper methods to format the templates
 	public static String formatTaskResult(String taskDescription, String taskResult) {
 		return String.format(TASK_RESULT_TEMPLATE, taskDescription, taskResult);
@@ -117,19 +128,33 @@ public class OrchestratorPrompts {
 	}
 
 	public static String formatFullPlanPrompt(String objective, String planResult, String agents) {
-		return String.format(PLAN_PROMPT_TEMPLATE, objective, planResult, agents);
+		return OrchestrationEvents.renderPrompt("plan",
+				() -> String.format(PLAN_PROMPT_TEMPLATE, objective, planResult, agents));
 	}
 
 	public static String formatTaskPrompt(String objective, String task, String context) {
-		return String.format(TASK_PROMPT_TEMPLATE, objective, task, context);
+		return OrchestrationEvents.renderPrompt("task",
+				() -> String.format(TASK_PROMPT_TEMPLATE, objective, task, context));
 	}
 
 	public static String formatSynthesizeStepPrompt(String stepResult) {
-		return String.format(SYNTHESIZE_STEP_PROMPT_TEMPLATE, stepResult);
+		return OrchestrationEvents.renderPrompt("synthesize-step",
+				() -> String.format(SYNTHESIZE_STEP_PROMPT_TEMPLATE, stepResult));
 	}
 
 	public static String formatSynthesizePlanPrompt(String planResult) {
-		return String.format(SYNTHESIZE_PLAN_PROMPT_TEMPLATE, planResult);
+		return OrchestrationEvents.renderPrompt("synthesize-plan",
+				() -> String.format(SYNTHESIZE_PLAN_PROMPT_TEMPLATE, planResult));
+	}
+
+	public static String formatSynthesizeSummariesPrompt(String summaries) {
+		return OrchestrationEvents.renderPrompt("synthesize-summaries",
+				() -> String.format(SYNTHESIZE_SUMMARIES_PROMPT_TEMPLATE, summaries));
+	}
+
+	public static String formatSummarizeToolOutputPrompt(String toolName, String toolInput, String toolOutput) {
+		return OrchestrationEvents.renderPrompt("summarize-tool-output",
+				() -> String.format(SUMMARIZE_TOOL_OUTPUT_PROMPT_TEMPLATE, toolName, toolInput, toolOutput));
 	}
 
 }
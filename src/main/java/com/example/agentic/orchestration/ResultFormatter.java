@@ -15,6 +15,8 @@
 */
 package com.example.agentic.orchestration;
 
+import java.util.List;
+
 import com.example.agentic.orchestration.Types.PlanResult;
 import com.example.agentic.orchestration.Types.StepResult;
 import com.example.agentic.orchestration.Types.TaskWithResult;
@@ -28,9 +30,11 @@ public class ResultFormatter {
 	private static final String TASK_RESULT_TEMPLATE = "Task: %s\nResult: %s";
 	private static final String STEP_RESULT_TEMPLATE = "Step: %s\nResult: %s\nTasks:\n%s";
 	private static final String PLAN_RESULT_TEMPLATE = "Plan Objective: %s\n\nSteps:\n%s\n\nStatus: %s\nResult: %s";
+	private static final String PLAN_SUMMARIES_TEMPLATE = "Plan Objective: %s\n\nStep Summaries:\n%s";
 
 	/**
-	 * Format a task result for display to planners
+	 * Format a task result for display to planners. Spilled results are shown by their
+	 * preview, so formatting the plan result does not load the payloads back.
 	 */
 	public static String formatTaskResult(TaskWithResult taskResult) {
 		return String.format(TASK_RESULT_TEMPLATE,
@@ -38,6 +42,37 @@ public class ResultFormatter {
 				taskResult.result());
 	}
 
+	/**
+	 * Format the prior task results passed as context to a task, limited to maxChars
+	 * characters. Results are expected in order of relevance, the first result that
+	 * does not fit is truncated. Spilled results are loaded, as the task works on the
+	 * full content.
+	 */
+	public static String formatTaskContext(List<TaskWithResult> taskResults, int maxChars) {
+		return OrchestrationEvents.renderPrompt("task-context", () -> doFormatTaskContext(taskResults, maxChars));
+	}
+
+	private static String doFormatTaskContext(List<TaskWithResult> taskResults, int maxChars) {
+		if (taskResults.isEmpty()) {
+			return "No previous results";
+		}
+
+		StringBuilder sb = new StringBuilder();
+		for (TaskWithResult taskResult : taskResults) {
+			String formatted = "- " + String.format(TASK_RESULT_TEMPLATE, taskResult.description(),
+					taskResult.content()) + "\n";
+			int remaining = maxChars - sb.length();
+			if (formatted.length() > remaining) {
+				if (remaining > 0) {
+					sb.append(formatted, 0, remaining).append("...\n");
+				}
+				break;
+			}
+			sb.append(formatted);
+		}
+		return sb.toString();
+	}
+
 	/**
 	 * Format a step result for display to planners
 	 */
@@ -57,6 +92,10 @@ public class ResultFormatter {
 	 * Format the full plan execution state for display to planners
 	 */
 	public static String formatPlanResult(PlanResult planResult) {
+		return OrchestrationEvents.renderPrompt("plan-result", () -> doFormatPlanResult(planResult));
+	}
+
+	private static String doFormatPlanResult(PlanResult planResult) {
 		String stepsStr;
 		if (planResult.stepResults() != null && !planResult.stepResults().isEmpty()) {
 			StringBuilder sb = new StringBuilder();
@@ -79,4 +118,27 @@ public class ResultFormatter {
 				planResult.isComplete() ? "Complete" : "In Progress",
 				planResult.isComplete() ? planResult.result() : "In Progress");
 	}
+
+	/**
+	 * Format a list of step summaries for synthesis
+	 */
+	public static String formatSummaries(List<String> summaries) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < summaries.size(); i++) {
+			sb.append(i + 1).append(":\n").append(summaries.get(i));
+			if (i < summaries.size() - 1) {
+				sb.append("\n\n");
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Format the plan objective with the summaries of the executed steps for the final
+	 * synthesis
+	 */
+	public static String formatPlanSummaries(String objective, List<String> summaries) {
+		return OrchestrationEvents.renderPrompt("plan-summaries",
+				() -> String.format(PLAN_SUMMARIES_TEMPLATE, objective, formatSummaries(summaries)));
+	}
 }
@@ -0,0 +1,163 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.example.agentic.orchestration.Types.TaskWithResult;
+
+/**
+ * Keeps large task results out of the Java heap.
+ *
+ * Results larger than the spill threshold are appended to a spill file and only a
+ * short preview and a {@link Handle} are kept in the {@link TaskWithResult}. The
+ * planner prompts and step summaries show the preview. The full payload is read back
+ * through a memory-mapped view of the spill file only for the context of a task. The
+ * spill file is deleted when the store is closed.
+ *
+ * The spill file only grows, so a store holds the results of a single plan run: the
+ * {@link Orchestrator} opens one store per run and closes it when the run completes,
+ * after loading the results it returns.
+ *
+ * @author Christian Tzolov
+ */
+public class ResultStore implements Closeable {
+
+	public static final int DEFAULT_SPILL_THRESHOLD = 64 * 1024;
+
+	private static final int PREVIEW_LENGTH = 512;
+
+	/**
+	 * Reference to a result payload held in the spill file.
+	 */
+	public record Handle(ResultStore store, long offset, int length) {
+
+		public String load() {
+			return this.store.load(this);
+		}
+
+		@Override
+		public String toString() {
+			return "Handle{offset=" + this.offset + ", length=" + this.length + "}";
+		}
+	}
+
+	private final int spillThreshold;
+
+	private final Path directory;
+
+	private Path spillFile;
+
+	private FileChannel channel;
+
+	private long position;
+
+	private boolean closed;
+
+	public ResultStore() {
+		this(DEFAULT_SPILL_THRESHOLD, null);
+	}
+
+	/**
+	 * @param spillThreshold results longer than this number of characters are spilled.
+	 * @param directory directory for the spill file, or null for the default temporary
+	 * directory.
+	 */
+	public ResultStore(int spillThreshold, Path directory) {
+		if (spillThreshold < 1) {
+			throw new IllegalArgumentException("spillThreshold must be greater than 0");
+		}
+		this.spillThreshold = spillThreshold;
+		this.directory = directory;
+	}
+
+	/**
+	 * Create a task result, spilling the result payload if it exceeds the threshold.
+	 */
+	public TaskWithResult store(String description, String result) {
+		if (result == null || result.length() <= this.spillThreshold) {
+			return new TaskWithResult(description, result);
+		}
+
+		Handle handle = this.write(result.getBytes(StandardCharsets.UTF_8));
+		String preview = result.substring(0, Math.min(PREVIEW_LENGTH, this.spillThreshold))
+				+ "... [%d characters]".formatted(result.length());
+
+		return new TaskWithResult(description, preview, handle);
+	}
+
+	private synchronized Handle write(byte[] bytes) {
+		if (this.closed) {
+			// A task that completed after its run failed
+			throw new IllegalStateException("Result store is closed");
+		}
+		try {
+			if (this.channel == null) {
+				this.spillFile = (this.directory != null)
+						? Files.createTempFile(this.directory, "task-results-", ".spill")
+						: Files.createTempFile("task-results-", ".spill");
+				this.spillFile.toFile().deleteOnExit();
+				this.channel = FileChannel.open(this.spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			}
+
+			long offset = this.position;
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining()) {
+				this.position += this.channel.write(buffer, this.position);
+			}
+			return new Handle(this, offset, bytes.length);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to spill task result", e);
+		}
+	}
+
+	private String load(Handle handle) {
+		ByteBuffer buffer;
+		// Mapped under the lock so the channel is not closed concurrently. The mapping
+		// stays valid after the channel is closed.
+		synchronized (this) {
+			if (this.channel == null) {
+				throw new IllegalStateException("Result store is closed");
+			}
+			try {
+				buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, handle.offset(), handle.length());
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to load spilled task result", e);
+			}
+		}
+		return StandardCharsets.UTF_8.decode(buffer).toString();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		this.closed = true;
+		if (this.channel != null) {
+			this.channel.close();
+			this.channel = null;
+			this.position = 0;
+			Files.deleteIfExists(this.spillFile);
+		}
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.example.agentic.orchestration.Types.PlanResult;
+import com.example.agentic.orchestration.Types.StepResult;
+
+import org.springframework.ai.chat.client.ChatClient;
+
+/**
+ * Hierarchical map-reduce synthesis of the plan result.
+ *
+ * Each step is summarized asynchronously as soon as it completes, while the following
+ * steps execute. When the plan completes the step summaries are combined in a tree,
+ * at most fanIn summaries per call, so the final synthesis prompt stays bounded
+ * regardless of the number of steps.
+ *
+ * @author Christian Tzolov
+ */
+public class SynthesisPipeline {
+
+	public static final int DEFAULT_FAN_IN = 4;
+
+	private final ChatClient synthesizer;
+
+	private final ExecutorService executor;
+
+	private final int fanIn;
+
+	public SynthesisPipeline(ChatClient synthesizer, ExecutorService executor) {
+		this(synthesizer, executor, DEFAULT_FAN_IN);
+	}
+
+	public SynthesisPipeline(ChatClient synthesizer, ExecutorService executor, int fanIn) {
+		if (fanIn < 2) {
+			throw new IllegalArgumentException("fanIn must be greater than 1");
+		}
+		this.synthesizer = synthesizer;
+		this.executor = executor;
+		this.fanIn = fanIn;
+	}
+
+	/**
+	 * Start summarizing a completed step. If the summary fails the formatted step
+	 * result is used instead. Cancelling the returned future with interruption stops
+	 * the summary call.
+	 */
+	public Future<String> summarizeStep(StepResult stepResult) {
+		return this.executor.submit(() -> {
+			try {
+				return this.call(OrchestratorPrompts
+						.formatSynthesizeStepPrompt(ResultFormatter.formatStepResult(stepResult)));
+			} catch (RuntimeException e) {
+				System.out.println("Step summary failed, using the step result: " + e.getMessage());
+				return ResultFormatter.formatStepResult(stepResult);
+			}
+		});
+	}
+
+	/**
+	 * Synthesize the final plan result from the step summaries.
+	 */
+	public String synthesize(PlanResult planResult, List<Future<String>> stepSummaries) {
+		if (stepSummaries.isEmpty()) {
+			return this.call(OrchestratorPrompts.formatSynthesizePlanPrompt(ResultFormatter.formatPlanResult(planResult)));
+		}
+
+		List<String> summaries = stepSummaries.stream().map(SynthesisPipeline::await).toList();
+
+		// Reduce the summaries level by level until the final call fits in the fan-in
+		while (summaries.size() > this.fanIn) {
+			List<CompletableFuture<String>> level = new ArrayList<>();
+			for (int i = 0; i < summaries.size(); i += this.fanIn) {
+				List<String> group = summaries.subList(i, Math.min(i + this.fanIn, summaries.size()));
+				level.add((group.size() == 1) ? CompletableFuture.completedFuture(group.get(0))
+						: CompletableFuture.supplyAsync(() -> this.call(OrchestratorPrompts
+								.formatSynthesizeSummariesPrompt(ResultFormatter.formatSummaries(group))), this.executor));
+			}
+			summaries = level.stream().map(CompletableFuture::join).toList();
+		}
+
+		return this.call(OrchestratorPrompts.formatSynthesizePlanPrompt(
+				ResultFormatter.formatPlanSummaries(planResult.objective(), summaries)));
+	}
+
+	private static String await(Future<String> stepSummary) {
+		try {
+			return stepSummary.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Interrupted while waiting for the step summaries");
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Step summary failed", e.getCause());
+		}
+	}
+
+	private String call(String prompt) {
+		return this.synthesizer.prompt()
+				.user(prompt)
+				.call()
+				.content();
+	}
+
+}
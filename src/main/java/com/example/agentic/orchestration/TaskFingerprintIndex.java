@@ -0,0 +1,161 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import com.example.agentic.orchestration.Types.AgentTask;
+import com.example.agentic.orchestration.Types.TaskWithResult;
+
+/**
+ * Fingerprints of the tasks already executed in a plan run, used to detect tasks that
+ * the planner re-emits with slightly different wording.
+ *
+ * A fingerprint is the set of normalized terms of the task description. Two tasks of
+ * the same agent are duplicates when the Dice similarity of their fingerprints
+ * reaches the threshold, which tolerates a reworded or an added term. A task of a
+ * later iteration asking for a revision, with words such as revise, update or fix, is
+ * not a duplicate, and neither is a task whose earlier result is empty.
+ *
+ * @author Christian Tzolov
+ */
+public class TaskFingerprintIndex {
+
+	public static final double DEFAULT_SIMILARITY_THRESHOLD = 0.8;
+
+	private static final Pattern REVISION = Pattern
+			.compile("\\b(revis|updat|fix|correct|improv|rewrit|redo|again)\\w*", Pattern.CASE_INSENSITIVE);
+
+	private record Entry(String agent, Set<String> fingerprint, TaskWithResult taskResult, int iteration) {
+	}
+
+	private final List<Entry> entries = new CopyOnWriteArrayList<>();
+
+	private final double similarityThreshold;
+
+	public TaskFingerprintIndex() {
+		this(DEFAULT_SIMILARITY_THRESHOLD);
+	}
+
+	/**
+	 * @param similarityThreshold minimum similarity of duplicate tasks. 0 disables the
+	 * duplicate detection.
+	 */
+	public TaskFingerprintIndex(double similarityThreshold) {
+		if (similarityThreshold < 0 || similarityThreshold > 1) {
+			throw new IllegalArgumentException("similarityThreshold must be in the [0, 1] range");
+		}
+		this.similarityThreshold = similarityThreshold;
+	}
+
+	/**
+	 * Find the result of an already executed task that duplicates the given task.
+	 * @param task the task to execute.
+	 * @param iteration the planning iteration of the task.
+	 */
+	public Optional<TaskWithResult> findDuplicate(AgentTask task, int iteration) {
+		if (this.similarityThreshold == 0) {
+			return Optional.empty();
+		}
+		Set<String> fingerprint = fingerprint(task.description());
+		boolean revision = REVISION.matcher(task.description()).find();
+		Entry best = null;
+		double bestSimilarity = 0;
+		for (Entry entry : this.entries) {
+			if (!entry.agent().equals(task.agent()) || isEmpty(entry.taskResult())) {
+				continue;
+			}
+			if (revision && entry.iteration() < iteration) {
+				// The planner asks to revise the earlier result
+				continue;
+			}
+			double similarity = diceSimilarity(fingerprint, entry.fingerprint());
+			if (similarity >= this.similarityThreshold && similarity > bestSimilarity) {
+				best = entry;
+				bestSimilarity = similarity;
+			}
+		}
+		return Optional.ofNullable(best).map(Entry::taskResult);
+	}
+
+	public void add(AgentTask task, TaskWithResult taskResult, int iteration) {
+		this.entries.add(new Entry(task.agent(), fingerprint(task.description()), taskResult, iteration));
+	}
+
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Normalized terms of the text: lower-cased, without stop words and with common
+	 * English suffixes removed.
+	 */
+	static Set<String> fingerprint(String text) {
+		Set<String> terms = new HashSet<>();
+		for (String term : Bm25Index.tokenize(text)) {
+			terms.add(stem(term));
+		}
+		return terms;
+	}
+
+	/**
+	 * Whether the task produced no result. The executors return null for an empty
+	 * model response, which the task result replaces with a placeholder.
+	 */
+	private static boolean isEmpty(TaskWithResult taskResult) {
+		return taskResult.result().isBlank() || TaskWithResult.NO_RESULT.equals(taskResult.result());
+	}
+
+	/**
+	 * Jaccard similarity of the fingerprints.
+	 */
+	static double similarity(Set<String> first, Set<String> second) {
+		if (first.isEmpty() && second.isEmpty()) {
+			return 1;
+		}
+		Set<String> intersection = new HashSet<>(first);
+		intersection.retainAll(second);
+		return (double) intersection.size() / (first.size() + second.size() - intersection.size());
+	}
+
+	/**
+	 * Dice similarity of the fingerprints. Higher than the Jaccard similarity for the
+	 * same difference, so one reworded term of a five-term task still scores 0.8.
+	 */
+	static double diceSimilarity(Set<String> first, Set<String> second) {
+		if (first.isEmpty() && second.isEmpty()) {
+			return 1;
+		}
+		Set<String> intersection = new HashSet<>(first);
+		intersection.retainAll(second);
+		return 2.0 * intersection.size() / (first.size() + second.size());
+	}
+
+	private static String stem(String term) {
+		for (String suffix : List.of("ing", "ed", "es", "s")) {
+			if (term.length() > suffix.length() + 3 && term.endsWith(suffix)) {
+				return term.substring(0, term.length() - suffix.length());
+			}
+		}
+		return term;
+	}
+
+}
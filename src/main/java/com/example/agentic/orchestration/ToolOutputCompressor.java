@@ -0,0 +1,301 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.ai.chat.client.ChatClient;
+
+/**
+ * Shrinks the MCP tool outputs before they enter the agent's tool calling loop, where
+ * they are resent with every following model turn of the task.
+ *
+ * The text of the output is unwrapped from the MCP content list, then the
+ * boilerplate lines (navigation, cookie banners, link-only lines) and the repeated
+ * lines are removed. Outputs still larger than summarizeAboveChars are condensed by
+ * the optional summarizer model, and the result is capped to maxChars keeping its
+ * head and tail. Outputs with non-text content are passed through unchanged.
+ *
+ * @author Christian Tzolov
+ */
+public class ToolOutputCompressor {
+
+	/**
+	 * Size reduction statistics of a tool.
+	 */
+	public static class ToolOutputStats {
+
+		private long calls;
+
+		private long summarized;
+
+		private long originalBytes;
+
+		private long compressedBytes;
+
+		synchronized void record(long originalBytes, long compressedBytes, boolean summarized) {
+			this.calls++;
+			this.originalBytes += originalBytes;
+			this.compressedBytes += compressedBytes;
+			if (summarized) {
+				this.summarized++;
+			}
+		}
+
+		public synchronized long calls() {
+			return this.calls;
+		}
+
+		public synchronized long originalBytes() {
+			return this.originalBytes;
+		}
+
+		public synchronized long compressedBytes() {
+			return this.compressedBytes;
+		}
+
+		/**
+		 * Fraction of the original bytes removed, between 0 and 1.
+		 */
+		public synchronized double reduction() {
+			return (this.originalBytes == 0) ? 0 : 1.0 - (double) this.compressedBytes / this.originalBytes;
+		}
+
+		@Override
+		public synchronized String toString() {
+			return "ToolOutputStats{calls=%d, summarized=%d, originalBytes=%d, compressedBytes=%d, reduction=%.2f}"
+					.formatted(this.calls, this.summarized, this.originalBytes, this.compressedBytes, reduction());
+		}
+	}
+
+	/**
+	 * Lines shorter than this, such as table separators, are never deduplicated.
+	 */
+	private static final int MIN_DEDUPLICATED_LINE_LENGTH = 20;
+
+	/**
+	 * The summarizer input is capped to this multiple of maxChars.
+	 */
+	private static final int SUMMARY_INPUT_FACTOR = 4;
+
+	private static final Pattern LINK_ONLY_LINE = Pattern
+			.compile("(?:[-*+|]|\\d+\\.)?\\s*(?:!?\\[[^\\]]*\\]\\([^)]*\\)\\s*[|\\u00b7\\u2022,]?\\s*)+");
+
+	private static final Pattern BOILERPLATE_LINE = Pattern.compile("(?:skip to (?:main )?content|sign in|log ?in"
+			+ "|sign up|subscribe(?: now)?|(?:accept|reject)(?: all)? cookies|cookie (?:policy|settings|preferences)"
+			+ "|privacy policy|terms (?:of (?:use|service)|and conditions)|all rights reserved|share (?:on|this)"
+			+ "|advertisement|back to top|toggle navigation)\\b.{0,40}", Pattern.CASE_INSENSITIVE);
+
+	private static final Pattern BLANK_LINES = Pattern.compile("\\n{3,}");
+
+	private final ObjectMapper objectMapper;
+
+	private final boolean deduplicate;
+
+	private final boolean stripBoilerplate;
+
+	private final int maxChars;
+
+	private final double headRatio;
+
+	private final ChatClient summarizer;
+
+	private final int summarizeAboveChars;
+
+	private final Map<String, ToolOutputStats> stats = new ConcurrentHashMap<>();
+
+	/**
+	 * @param objectMapper parses the MCP content list of the tool outputs.
+	 * @param deduplicate remove the repeated lines.
+	 * @param stripBoilerplate remove the navigation, banner and link-only lines.
+	 * @param maxChars maximum size, in characters, of a compressed output.
+	 * @param headRatio fraction of maxChars taken from the head of a capped output,
+	 * the rest is taken from its tail.
+	 * @param summarizer ChatClient condensing the large outputs. If null the outputs
+	 * are not summarized.
+	 * @param summarizeAboveChars minimum size, in characters, of the outputs sent to
+	 * the summarizer.
+	 */
+	public ToolOutputCompressor(ObjectMapper objectMapper, boolean deduplicate, boolean stripBoilerplate,
+			int maxChars, double headRatio, ChatClient summarizer, int summarizeAboveChars) {
+		if (maxChars < 1) {
+			throw new IllegalArgumentException("maxChars must be greater than 0");
+		}
+		if (headRatio < 0 || headRatio > 1) {
+			throw new IllegalArgumentException("headRatio must be between 0 and 1");
+		}
+		this.objectMapper = objectMapper;
+		this.deduplicate = deduplicate;
+		this.stripBoilerplate = stripBoilerplate;
+		this.maxChars = maxChars;
+		this.headRatio = headRatio;
+		this.summarizer = summarizer;
+		this.summarizeAboveChars = summarizeAboveChars;
+	}
+
+	public String compress(String toolName, String toolInput, String toolOutput) {
+		if (toolOutput == null || toolOutput.isEmpty()) {
+			return toolOutput;
+		}
+
+		var event = new OrchestrationEvents.ToolOutputCompression();
+		event.begin();
+
+		String compressed = toolOutput;
+		boolean summarized = false;
+
+		String text = this.textContent(toolOutput);
+		if (text != null) {
+			compressed = this.clean(text);
+			if (this.summarizer != null && compressed.length() > this.summarizeAboveChars) {
+				String summary = this.summarize(toolName, toolInput,
+						this.cap(compressed, SUMMARY_INPUT_FACTOR * this.maxChars));
+				if (summary != null && summary.length() < compressed.length()) {
+					compressed = summary;
+					summarized = true;
+				}
+			}
+			compressed = this.cap(compressed, this.maxChars);
+		}
+
+		long originalBytes = utf8Length(toolOutput);
+		long compressedBytes = utf8Length(compressed);
+		this.stats.computeIfAbsent(toolName, name -> new ToolOutputStats())
+				.record(originalBytes, compressedBytes, summarized);
+
+		if (event.shouldCommit()) {
+			event.tool = toolName;
+			event.originalBytes = originalBytes;
+			event.compressedBytes = compressedBytes;
+			event.summarized = summarized;
+			event.commit();
+		}
+		return compressed;
+	}
+
+	public Map<String, ToolOutputStats> getStats() {
+		return Map.copyOf(this.stats);
+	}
+
+	/**
+	 * The text of the output. MCP tool outputs are a JSON list of contents, the text
+	 * contents are joined. Returns null if the output has non-text contents.
+	 */
+	private String textContent(String toolOutput) {
+		if (!toolOutput.startsWith("[")) {
+			return toolOutput;
+		}
+
+		JsonNode contents;
+		try {
+			contents = this.objectMapper.readTree(toolOutput);
+		} catch (JsonProcessingException e) {
+			// Plain text starting with a bracket, such as a markdown link
+			return toolOutput;
+		}
+		if (contents == null || !contents.isArray() || contents.isEmpty()) {
+			return null;
+		}
+
+		StringBuilder text = new StringBuilder(toolOutput.length());
+		for (JsonNode content : contents) {
+			JsonNode value = content.path("text");
+			if (!value.isTextual()) {
+				return null;
+			}
+			if (!text.isEmpty()) {
+				text.append("\n\n");
+			}
+			text.append(value.asText());
+		}
+		return text.toString();
+	}
+
+	private String clean(String text) {
+		StringBuilder cleaned = new StringBuilder(text.length());
+		Set<String> seenLines = new HashSet<>();
+
+		for (String line : text.split("\\R")) {
+			String trimmed = line.strip();
+			if (this.stripBoilerplate && !trimmed.isEmpty() && (LINK_ONLY_LINE.matcher(trimmed).matches()
+					|| BOILERPLATE_LINE.matcher(trimmed).matches())) {
+				continue;
+			}
+			if (this.deduplicate && trimmed.length() >= MIN_DEDUPLICATED_LINE_LENGTH
+					&& !seenLines.add(trimmed.toLowerCase(Locale.ROOT))) {
+				continue;
+			}
+			cleaned.append(line.stripTrailing()).append('\n');
+		}
+
+		return BLANK_LINES.matcher(cleaned).replaceAll("\n\n").strip();
+	}
+
+	private String summarize(String toolName, String toolInput, String text) {
+		try {
+			String summary = this.summarizer.prompt()
+					.user(OrchestratorPrompts.formatSummarizeToolOutputPrompt(toolName, toolInput, text))
+					.call()
+					.content();
+			return (summary == null || summary.isBlank()) ? null : summary.strip();
+		} catch (Exception e) {
+			System.out.println("Tool output summary failed, keeping the cleaned output: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Cap the text to the given size, keeping its head and tail.
+	 */
+	private String cap(String text, int limit) {
+		if (text.length() <= limit) {
+			return text;
+		}
+		int head = (int) (limit * this.headRatio);
+		int tail = limit - head;
+		int omitted = text.length() - head - tail;
+		return text.substring(0, head) + "\n\n[... %d characters omitted ...]\n\n".formatted(omitted)
+				+ text.substring(text.length() - tail);
+	}
+
+	private static long utf8Length(String text) {
+		long length = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				length++;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isSurrogate(c)) {
+				// A surrogate pair encodes to 4 bytes
+				length += 2;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import com.example.agentic.McpAgent;
+
+import org.springframework.ai.tool.ToolCallback;
+
+/**
+ * Selects the subset of an agent's tools relevant to a task, so only their schemas are
+ * sent with the task requests.
+ *
+ * A tool is selected when it is pinned by the agent, when a rule matching the task
+ * text names it, or when it is among the best lexical matches between the task text
+ * and the tool names and descriptions. The agent instruction is not matched, as it
+ * describes everything the agent does and would select all its tools. If no rule or
+ * lexical match selects a tool all the tools are kept.
+ *
+ * @author Christian Tzolov
+ */
+public class ToolSelector {
+
+	public static final int DEFAULT_MAX_LEXICAL_MATCHES = 4;
+
+	private final Map<Pattern, List<String>> rules;
+
+	private final int maxLexicalMatches;
+
+	private final Map<List<ToolCallback>, Bm25Index<ToolCallback>> indexes = new ConcurrentHashMap<>();
+
+	/**
+	 * @param rules task text patterns mapped to the tool name fragments they select.
+	 * @param maxLexicalMatches maximum number of tools selected by lexical matching.
+	 */
+	public ToolSelector(Map<Pattern, List<String>> rules, int maxLexicalMatches) {
+		this.rules = rules;
+		this.maxLexicalMatches = maxLexicalMatches;
+	}
+
+	/**
+	 * Selector with rules for the search, fetch and filesystem MCP servers. The
+	 * filesystem tools that modify files are selected only by tasks asking to save or
+	 * change files.
+	 */
+	public static ToolSelector defaults() {
+		Map<Pattern, List<String>> rules = new LinkedHashMap<>();
+		rules.put(Pattern.compile("\\b(search|find|look up|research|sources?)\\b", Pattern.CASE_INSENSITIVE),
+				List.of("_search"));
+		rules.put(Pattern.compile("\\b(fetch|visit|urls?|web ?pages?|download|browse)\\b", Pattern.CASE_INSENSITIVE),
+				List.of("fetch"));
+		rules.put(Pattern.compile("\\b(read|open|load|files?|director(y|ies)|folder)\\b", Pattern.CASE_INSENSITIVE),
+				List.of("read_", "list_", "directory_tree", "search_files", "get_file_info"));
+		rules.put(Pattern.compile("\\b(save|write|store|create|edit|update|move|rename)\\b",
+				Pattern.CASE_INSENSITIVE), List.of("write_file", "edit_file", "create_directory", "move_file"));
+		return new ToolSelector(rules, DEFAULT_MAX_LEXICAL_MATCHES);
+	}
+
+	/**
+	 * Select the tools for a task.
+	 * @param taskText the task description.
+	 * @param agent the agent executing the task.
+	 */
+	public List<ToolCallback> select(String taskText, McpAgent agent) {
+		List<ToolCallback> tools = agent.getToolCallbacks();
+		if (tools.size() <= 1) {
+			return tools;
+		}
+
+		Set<ToolCallback> matched = new LinkedHashSet<>();
+
+		for (Map.Entry<Pattern, List<String>> rule : this.rules.entrySet()) {
+			if (rule.getKey().matcher(taskText).find()) {
+				matched.addAll(withNameFragments(tools, rule.getValue()));
+			}
+		}
+
+		Bm25Index<ToolCallback> index = this.indexes.computeIfAbsent(tools, ToolSelector::indexTools);
+		for (Bm25Index.Hit<ToolCallback> hit : index.search(taskText, this.maxLexicalMatches)) {
+			matched.add(hit.key());
+		}
+
+		if (matched.isEmpty()) {
+			return tools;
+		}
+
+		Set<ToolCallback> selected = new LinkedHashSet<>(withNameFragments(tools, agent.getPinnedTools()));
+		selected.addAll(matched);
+		return List.copyOf(selected);
+	}
+
+	private static List<ToolCallback> withNameFragments(List<ToolCallback> tools, List<String> nameFragments) {
+		return tools.stream()
+				.filter(tool -> {
+					String toolName = tool.getToolDefinition().name().toLowerCase(Locale.ROOT);
+					return nameFragments.stream()
+							.anyMatch(fragment -> toolName.contains(fragment.toLowerCase(Locale.ROOT)));
+				})
+				.toList();
+	}
+
+	private static Bm25Index<ToolCallback> indexTools(List<ToolCallback> tools) {
+		Bm25Index<ToolCallback> index = new Bm25Index<>();
+		for (ToolCallback tool : tools) {
+			var definition = tool.getToolDefinition();
+			index.add(tool, definition.name().replace('_', ' ') + "\n" + definition.description());
+		}
+		return index;
+	}
+
+}
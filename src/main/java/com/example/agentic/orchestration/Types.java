@@ -18,6 +18,8 @@ package com.example.agentic.orchestration;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * @author Christian Tzolov
  */
@@ -76,24 +78,43 @@ public class Types {
 	}
 
 	/**
-	 * An individual task with its result
+	 * An individual task with its result. If the result was spilled by the
+	 * {@link ResultStore}, the result holds a short preview and the handle references
+	 * the full payload.
 	 */
-	public record TaskWithResult(String description, String result) {
+	public record TaskWithResult(String description, String result, @JsonIgnore ResultStore.Handle handle) {
+
+		/**
+		 * Result of a task that returned no result.
+		 */
+		public static final String NO_RESULT = "Task completed";
+
 		public TaskWithResult {
 			if (description == null) {
 				description = "";
 			}
 			if (result == null) {
-				result = "Task completed";
+				result = NO_RESULT;
 			}
 		}
 
+		public TaskWithResult(String description, String result) {
+			this(description, result, null);
+		}
+
 		public TaskWithResult(String description) {
-			this(description, "Task completed");
+			this(description, NO_RESULT);
 		}
 
 		public TaskWithResult() {
-			this("", "Task completed");
+			this("", NO_RESULT);
+		}
+
+		/**
+		 * The full result, loaded from the spill file if the result was spilled
+		 */
+		public String content() {
+			return (handle != null) ? handle.load() : result;
 		}
 	}
 
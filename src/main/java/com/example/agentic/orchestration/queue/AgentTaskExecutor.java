@@ -0,0 +1,108 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration.queue;
+
+import java.util.List;
+
+import com.example.agentic.McpAgent;
+import com.example.agentic.orchestration.AgentCatalog;
+import com.example.agentic.orchestration.InstrumentedToolCallback;
+import com.example.agentic.orchestration.ModelRouter;
+import com.example.agentic.orchestration.OrchestrationEvents;
+import com.example.agentic.orchestration.ToolSelector;
+import com.example.agentic.orchestration.Types.AgentTask;
+import com.example.agentic.orchestration.Types.TaskWithResult;
+
+import org.springframework.ai.tool.ToolCallback;
+
+/**
+ * Executes agent tasks with the agents hosted by a worker.
+ *
+ * @author Christian Tzolov
+ */
+public class AgentTaskExecutor {
+
+	private final AgentCatalog agents;
+
+	private final ModelRouter modelRouter;
+
+	private final ToolSelector toolSelector;
+
+	public AgentTaskExecutor(AgentCatalog agents, ModelRouter modelRouter) {
+		this(agents, modelRouter, ToolSelector.defaults());
+	}
+
+	public AgentTaskExecutor(AgentCatalog agents, ModelRouter modelRouter, ToolSelector toolSelector) {
+		this.agents = agents;
+		this.modelRouter = modelRouter;
+		this.toolSelector = toolSelector;
+	}
+
+	public ModelRouter getModelRouter() {
+		return this.modelRouter;
+	}
+
+	public TaskWithResult execute(TaskRequest request) {
+
+		McpAgent agent = this.agents.get(request.agent());
+		if (agent == null) {
+			throw new IllegalStateException("Agent %s not found".formatted(request.agent()));
+		}
+
+		var task = new AgentTask(request.description(), request.agent());
+		var model = this.modelRouter.select(agent, task);
+
+		var event = new OrchestrationEvents.TaskExecution();
+		event.begin();
+
+		String taskResult = null;
+		List<ToolCallback> tools = List.of();
+		long start = System.currentTimeMillis();
+		try {
+			var prompt = model.chatClient().prompt()
+					.user(request.prompt());
+
+			if (!agent.getToolCallbacks().isEmpty()) {
+				// Attach only the tools relevant to the task, instead of all the agent tools
+				tools = this.toolSelector.select(request.description(), agent)
+						.stream()
+						.<ToolCallback>map(tool -> new InstrumentedToolCallback(tool, agent.getName()))
+						.toList();
+				prompt = prompt.toolCallbacks(tools);
+			}
+
+			taskResult = prompt
+					.call()
+					.content();
+			return new TaskWithResult(request.description(), taskResult);
+		} finally {
+			boolean success = taskResult != null && !taskResult.isBlank();
+			this.modelRouter.record(agent.getName(), model.model(), ModelRouter.TaskComplexity.of(task),
+					System.currentTimeMillis() - start, success);
+
+			if (event.shouldCommit()) {
+				event.agent = agent.getName();
+				event.model = model.model();
+				event.tools = tools.size();
+				event.promptLength = request.prompt().length();
+				event.responseLength = (taskResult != null) ? taskResult.length() : 0;
+				event.success = success;
+				event.commit();
+			}
+		}
+	}
+
+}
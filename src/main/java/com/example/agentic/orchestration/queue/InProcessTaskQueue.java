@@ -0,0 +1,54 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration.queue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.example.agentic.orchestration.Types.TaskWithResult;
+
+/**
+ * Executes the tasks on a thread pool of the orchestrator process.
+ *
+ * @author Christian Tzolov
+ */
+public class InProcessTaskQueue implements TaskQueue {
+
+	private final AgentTaskExecutor taskExecutor;
+
+	private final ExecutorService executor;
+
+	public InProcessTaskQueue(AgentTaskExecutor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "agent-task");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public CompletableFuture<TaskWithResult> submit(TaskRequest request) {
+		return CompletableFuture.supplyAsync(() -> this.taskExecutor.execute(request), this.executor);
+	}
+
+	@Override
+	public void close() {
+		this.executor.shutdownNow();
+	}
+
+}
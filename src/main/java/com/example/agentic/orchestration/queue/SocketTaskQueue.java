@@ -0,0 +1,218 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration.queue;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.agentic.orchestration.Types.TaskWithResult;
+import com.example.agentic.orchestration.queue.SocketTaskWorker.ResultMessage;
+import com.example.agentic.orchestration.queue.SocketTaskWorker.TaskMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Dispatches the tasks to {@link SocketTaskWorker} nodes over TCP, round-robin across
+ * the configured workers. Every worker connection carries many concurrent tasks,
+ * whose results are matched to the pending tasks by id.
+ *
+ * A closed worker connection fails its pending tasks and is skipped by the following
+ * tasks. A task that gets no result within the task timeout fails.
+ *
+ * @author Christian Tzolov
+ */
+public class SocketTaskQueue implements TaskQueue {
+
+	public static final Duration DEFAULT_TASK_TIMEOUT = Duration.ofMinutes(10);
+
+	private final ObjectMapper objectMapper;
+
+	private final Duration taskTimeout;
+
+	private final List<WorkerConnection> connections = new ArrayList<>();
+
+	private final AtomicInteger nextConnection = new AtomicInteger();
+
+	private final AtomicLong nextTaskId = new AtomicLong();
+
+	public SocketTaskQueue(List<InetSocketAddress> workers, ObjectMapper objectMapper) throws IOException {
+		this(workers, objectMapper, DEFAULT_TASK_TIMEOUT);
+	}
+
+	/**
+	 * @param workers addresses of the task workers.
+	 * @param taskTimeout maximum time to wait for the result of a task.
+	 */
+	public SocketTaskQueue(List<InetSocketAddress> workers, ObjectMapper objectMapper, Duration taskTimeout)
+			throws IOException {
+		if (workers.isEmpty()) {
+			throw new IllegalArgumentException("At least one worker address is required");
+		}
+		this.objectMapper = objectMapper;
+		this.taskTimeout = taskTimeout;
+		try {
+			for (InetSocketAddress worker : workers) {
+				this.connections.add(new WorkerConnection(worker));
+			}
+		} catch (IOException e) {
+			this.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public CompletableFuture<TaskWithResult> submit(TaskRequest request) {
+		var message = new TaskMessage(this.nextTaskId.incrementAndGet(), request);
+
+		// Round-robin over the open connections
+		int first = this.nextConnection.getAndIncrement();
+		for (int i = 0; i < this.connections.size(); i++) {
+			var connection = this.connections.get(Math.floorMod(first + i, this.connections.size()));
+			if (!connection.isClosed()) {
+				return connection.send(message);
+			}
+		}
+		return CompletableFuture
+				.failedFuture(new IllegalStateException("All the task worker connections are closed"));
+	}
+
+	@Override
+	public void close() {
+		for (WorkerConnection connection : this.connections) {
+			connection.close();
+		}
+	}
+
+	private class WorkerConnection {
+
+		private final InetSocketAddress address;
+
+		private final Socket socket;
+
+		private final BufferedWriter writer;
+
+		private final Map<Long, CompletableFuture<TaskWithResult>> pending = new ConcurrentHashMap<>();
+
+		/**
+		 * Set with the pending tasks failed, under the lock of the connection, so no
+		 * task is added after the connection is closed.
+		 */
+		private boolean closed;
+
+		WorkerConnection(InetSocketAddress address) throws IOException {
+			this.address = address;
+			this.socket = new Socket(address.getHostString(), address.getPort());
+			this.writer = new BufferedWriter(
+					new OutputStreamWriter(this.socket.getOutputStream(), StandardCharsets.UTF_8));
+
+			Thread reader = new Thread(this::receive, "task-queue-" + address);
+			reader.setDaemon(true);
+			reader.start();
+		}
+
+		CompletableFuture<TaskWithResult> send(TaskMessage message) {
+			var future = new CompletableFuture<TaskWithResult>();
+			synchronized (this) {
+				if (this.closed) {
+					future.completeExceptionally(
+							new IllegalStateException("Connection to worker %s closed".formatted(this.address)));
+					return future;
+				}
+				this.pending.put(message.id(), future);
+			}
+			// A worker that never answers must not hang the plan
+			future.orTimeout(SocketTaskQueue.this.taskTimeout.toMillis(), TimeUnit.MILLISECONDS)
+					.whenComplete((result, error) -> this.pending.remove(message.id()));
+			try {
+				String json = SocketTaskQueue.this.objectMapper.writeValueAsString(message);
+				synchronized (this.writer) {
+					this.writer.write(json);
+					this.writer.newLine();
+					this.writer.flush();
+				}
+			} catch (IOException e) {
+				this.pending.remove(message.id());
+				future.completeExceptionally(
+						new UncheckedIOException("Failed to send the task to worker " + this.address, e));
+			}
+			return future;
+		}
+
+		private void receive() {
+			try (var reader = new BufferedReader(
+					new InputStreamReader(this.socket.getInputStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					ResultMessage result = SocketTaskQueue.this.objectMapper.readValue(line, ResultMessage.class);
+					var future = this.pending.remove(result.id());
+					if (future == null) {
+						continue;
+					}
+					if (result.error() != null) {
+						future.completeExceptionally(new IllegalStateException(
+								"Task failed on worker %s: %s".formatted(this.address, result.error())));
+					} else {
+						future.complete(new TaskWithResult(result.description(), result.result()));
+					}
+				}
+			} catch (IOException e) {
+				System.out.println("Connection to worker " + this.address + " failed: " + e.getMessage());
+			}
+			this.failPending();
+		}
+
+		private void failPending() {
+			var error = new IllegalStateException("Connection to worker %s closed".formatted(this.address));
+			List<CompletableFuture<TaskWithResult>> failed;
+			synchronized (this) {
+				this.closed = true;
+				failed = List.copyOf(this.pending.values());
+				this.pending.clear();
+			}
+			failed.forEach(future -> future.completeExceptionally(error));
+		}
+
+		synchronized boolean isClosed() {
+			return this.closed;
+		}
+
+		void close() {
+			try {
+				this.socket.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			this.failPending();
+		}
+
+	}
+
+}
@@ -0,0 +1,228 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration.queue;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.example.agentic.orchestration.Types.TaskWithResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Worker node hosting agents and executing the tasks received from
+ * {@link SocketTaskQueue} orchestrators.
+ *
+ * The protocol is line-delimited JSON over TCP: the orchestrator sends a
+ * {@link TaskMessage} per line and the worker answers with a {@link ResultMessage}
+ * with the same id as soon as the task completes, in completion order.
+ *
+ * The protocol has no authentication and the tasks run with the agents' tools,
+ * including the filesystem ones, so the worker listens on the loopback interface
+ * unless another bind address is given. Only bind it to an interface reachable from
+ * trusted hosts.
+ *
+ * @author Christian Tzolov
+ */
+public class SocketTaskWorker implements AutoCloseable {
+
+	/**
+	 * Task sent from the orchestrator to the worker.
+	 */
+	public record TaskMessage(long id, TaskRequest request) {
+	}
+
+	/**
+	 * Task result sent from the worker to the orchestrator. The error is set if the
+	 * task failed.
+	 */
+	public record ResultMessage(long id, String description, String result, String error) {
+	}
+
+	private final AgentTaskExecutor taskExecutor;
+
+	private final ObjectMapper objectMapper;
+
+	private final InetAddress bindAddress;
+
+	private final int port;
+
+	private final ExecutorService executor;
+
+	private final CountDownLatch closed = new CountDownLatch(1);
+
+	private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+	private ServerSocket serverSocket;
+
+	/**
+	 * Worker listening on the loopback interface.
+	 * @param port the port to listen on, or 0 for an ephemeral port.
+	 * @param parallelism maximum number of tasks executed concurrently.
+	 */
+	public SocketTaskWorker(AgentTaskExecutor taskExecutor, ObjectMapper objectMapper, int port, int parallelism) {
+		this(taskExecutor, objectMapper, InetAddress.getLoopbackAddress(), port, parallelism);
+	}
+
+	/**
+	 * @param bindAddress the address to listen on.
+	 * @param port the port to listen on, or 0 for an ephemeral port.
+	 * @param parallelism maximum number of tasks executed concurrently.
+	 */
+	public SocketTaskWorker(AgentTaskExecutor taskExecutor, ObjectMapper objectMapper, InetAddress bindAddress,
+			int port, int parallelism) {
+		this.taskExecutor = taskExecutor;
+		this.objectMapper = objectMapper;
+		this.bindAddress = bindAddress;
+		this.port = port;
+		this.executor = Executors.newFixedThreadPool(parallelism);
+	}
+
+	public synchronized void start() throws IOException {
+		this.serverSocket = new ServerSocket(this.port, 0, this.bindAddress);
+		Thread acceptor = new Thread(this::accept, "task-worker-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+		System.out.println("Task worker listening on " + this.serverSocket.getLocalSocketAddress());
+	}
+
+	public int getPort() {
+		return this.serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Block until the worker is closed.
+	 */
+	public void awaitClose() throws InterruptedException {
+		this.closed.await();
+	}
+
+	private void accept() {
+		while (!this.serverSocket.isClosed()) {
+			try {
+				Socket socket = this.serverSocket.accept();
+				this.connections.add(socket);
+				if (this.closed.getCount() == 0) {
+					// Accepted while the worker was closing
+					socket.close();
+					continue;
+				}
+				Thread connection = new Thread(() -> this.serve(socket), "task-worker-connection");
+				connection.setDaemon(true);
+				connection.start();
+			} catch (IOException e) {
+				if (!this.serverSocket.isClosed()) {
+					System.out.println("Task worker failed to accept a connection: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (socket;
+				var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				var writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+
+			String line;
+			while ((line = reader.readLine()) != null) {
+				TaskMessage message = this.parse(line);
+				if (message == null) {
+					// Fail the malformed task only, the other tasks of the connection keep
+					// running
+					this.reply(writer, new ResultMessage(this.messageId(line), null, null, "Malformed task message"));
+					continue;
+				}
+				this.executor.execute(() -> this.reply(writer, this.execute(message)));
+			}
+		} catch (IOException e) {
+			System.out.println("Task worker connection closed: " + e.getMessage());
+		} finally {
+			this.connections.remove(socket);
+		}
+	}
+
+	/**
+	 * Parse a task message, or return null if the line is not a valid task message.
+	 */
+	private TaskMessage parse(String line) {
+		try {
+			TaskMessage message = this.objectMapper.readValue(line, TaskMessage.class);
+			return (message != null && message.request() != null) ? message : null;
+		} catch (JsonProcessingException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * The id of a malformed task message, or -1 if it has none.
+	 */
+	private long messageId(String line) {
+		try {
+			return this.objectMapper.readTree(line).path("id").asLong(-1);
+		} catch (JsonProcessingException e) {
+			return -1;
+		}
+	}
+
+	private ResultMessage execute(TaskMessage message) {
+		try {
+			TaskWithResult taskResult = this.taskExecutor.execute(message.request());
+			return new ResultMessage(message.id(), taskResult.description(), taskResult.result(), null);
+		} catch (Exception e) {
+			return new ResultMessage(message.id(), message.request().description(), null,
+					String.valueOf(e.getMessage()));
+		}
+	}
+
+	private void reply(BufferedWriter writer, ResultMessage result) {
+		try {
+			String json = this.objectMapper.writeValueAsString(result);
+			synchronized (writer) {
+				writer.write(json);
+				writer.newLine();
+				writer.flush();
+			}
+		} catch (IOException e) {
+			System.out.println("Task worker failed to send the result of task " + result.id() + ": " + e.getMessage());
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		this.closed.countDown();
+		if (this.serverSocket != null) {
+			this.serverSocket.close();
+		}
+		// The orchestrators fail the tasks still running on the closed connections
+		for (Socket connection : this.connections) {
+			connection.close();
+		}
+		this.executor.shutdownNow();
+	}
+
+}
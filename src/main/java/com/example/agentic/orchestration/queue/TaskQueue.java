@@ -0,0 +1,42 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration.queue;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.example.agentic.orchestration.Types.TaskWithResult;
+
+/**
+ * Dispatches agent tasks to the workers hosting the agents.
+ *
+ * Implementations decide where the agents execute: in the orchestrator process
+ * ({@link InProcessTaskQueue}) or in remote worker processes ({@link SocketTaskQueue}).
+ *
+ * @author Christian Tzolov
+ */
+public interface TaskQueue extends AutoCloseable {
+
+	/**
+	 * Submit a task for execution. The returned future completes with the task result
+	 * reported by the worker, or exceptionally if the task failed.
+	 */
+	CompletableFuture<TaskWithResult> submit(TaskRequest request);
+
+	@Override
+	default void close() {
+	}
+
+}
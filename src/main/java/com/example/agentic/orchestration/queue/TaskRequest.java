@@ -0,0 +1,27 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration.queue;
+
+/**
+ * An agent task dispatched through a {@link TaskQueue}.
+ *
+ * @param agent name of the agent to execute the task.
+ * @param description the task description, as planned.
+ * @param prompt the complete task prompt, including the objective and the context.
+ * @author Christian Tzolov
+ */
+public record TaskRequest(String agent, String description, String prompt) {
+}
@@ -0,0 +1,73 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.trace;
+
+import java.util.List;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingManager;
+
+/**
+ * Chat model decorator recording every model turn into a trace.
+ *
+ * The tool calling loop is run by this decorator instead of the delegate, so each
+ * turn is recorded with the tool calls it requested, and the tool results are
+ * recorded by the {@link RecordingToolCallback}s of the prompt.
+ *
+ * @author Christian Tzolov
+ */
+public class RecordingChatModel implements ChatModel {
+
+	private final ChatModel delegate;
+
+	private final TraceRecorder recorder;
+
+	private final ToolCallingManager toolCallingManager;
+
+	public RecordingChatModel(ChatModel delegate, TraceRecorder recorder, ToolCallingManager toolCallingManager) {
+		this.delegate = delegate;
+		this.recorder = recorder;
+		this.toolCallingManager = toolCallingManager;
+	}
+
+	@Override
+	public ChatResponse call(Prompt prompt) {
+		return ToolCallingLoop.call(prompt, this::recordTurn, this.toolCallingManager);
+	}
+
+	@Override
+	public ChatOptions getDefaultOptions() {
+		return this.delegate.getDefaultOptions();
+	}
+
+	private ChatResponse recordTurn(Prompt prompt) {
+		long start = System.nanoTime();
+		ChatResponse response = this.delegate.call(prompt);
+		AssistantMessage output = response.getResult().getOutput();
+		List<TraceEntry.ToolCall> toolCalls = output.getToolCalls()
+				.stream()
+				.map(toolCall -> new TraceEntry.ToolCall(toolCall.id(), toolCall.name(), toolCall.arguments()))
+				.toList();
+		this.recorder.record(TraceEntry.chat(prompt.getContents(), output.getText(), toolCalls,
+				System.nanoTime() - start));
+		return response;
+	}
+
+}
@@ -0,0 +1,70 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.trace;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+/**
+ * Tool callback decorator recording every MCP tool call into a trace.
+ *
+ * @author Christian Tzolov
+ */
+public class RecordingToolCallback implements ToolCallback {
+
+	private final ToolCallback delegate;
+
+	private final TraceRecorder recorder;
+
+	public RecordingToolCallback(ToolCallback delegate, TraceRecorder recorder) {
+		this.delegate = delegate;
+		this.recorder = recorder;
+	}
+
+	@Override
+	public ToolDefinition getToolDefinition() {
+		return this.delegate.getToolDefinition();
+	}
+
+	@Override
+	public ToolMetadata getToolMetadata() {
+		return this.delegate.getToolMetadata();
+	}
+
+	@Override
+	public String call(String toolInput) {
+		long start = System.nanoTime();
+		String response = this.delegate.call(toolInput);
+		this.record(toolInput, response, start);
+		return response;
+	}
+
+	@Override
+	public String call(String toolInput, ToolContext toolContext) {
+		long start = System.nanoTime();
+		String response = this.delegate.call(toolInput, toolContext);
+		this.record(toolInput, response, start);
+		return response;
+	}
+
+	private void record(String toolInput, String response, long start) {
+		this.recorder.record(TraceEntry.tool(this.delegate.getToolDefinition().name(), toolInput, response,
+				System.nanoTime() - start));
+	}
+
+}
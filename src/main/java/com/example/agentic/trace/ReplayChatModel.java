@@ -0,0 +1,65 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.trace;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingManager;
+
+/**
+ * Deterministic chat model answering with the model turns recorded in a trace,
+ * without any network access.
+ *
+ * The recorded tool calls of each turn are executed through the tool callbacks of the
+ * prompt, so the tool selection, output compression and tool events run as when
+ * recording, with the tool results served by the {@link ReplayToolCallback}s.
+ *
+ * @author Christian Tzolov
+ */
+public class ReplayChatModel implements ChatModel {
+
+	private final TraceReplay replay;
+
+	private final ToolCallingManager toolCallingManager;
+
+	public ReplayChatModel(TraceReplay replay, ToolCallingManager toolCallingManager) {
+		this.replay = replay;
+		this.toolCallingManager = toolCallingManager;
+	}
+
+	@Override
+	public ChatResponse call(Prompt prompt) {
+		return ToolCallingLoop.call(prompt, this::replayTurn, this.toolCallingManager);
+	}
+
+	private ChatResponse replayTurn(Prompt prompt) {
+		TraceEntry entry = this.replay.chat(prompt.getContents());
+		List<AssistantMessage.ToolCall> toolCalls = entry.toolCalls()
+				.stream()
+				.map(toolCall -> new AssistantMessage.ToolCall(toolCall.id(), "function", toolCall.name(),
+						toolCall.arguments()))
+				.toList();
+		String text = (entry.response() != null) ? entry.response() : "";
+		return new ChatResponse(List.of(new Generation(new AssistantMessage(text, Map.of(), toolCalls))));
+	}
+
+}
@@ -0,0 +1,52 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.trace;
+
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+/**
+ * Tool callback answering with the tool results recorded in a trace, in place of the
+ * MCP server.
+ *
+ * @author Christian Tzolov
+ */
+public class ReplayToolCallback implements ToolCallback {
+
+	private record RecordedToolDefinition(String name, String description, String inputSchema)
+			implements ToolDefinition {
+	}
+
+	private final TraceReplay replay;
+
+	private final ToolDefinition toolDefinition;
+
+	public ReplayToolCallback(TraceReplay replay, String name, String description, String inputSchema) {
+		this.replay = replay;
+		this.toolDefinition = new RecordedToolDefinition(name, description, inputSchema);
+	}
+
+	@Override
+	public ToolDefinition getToolDefinition() {
+		return this.toolDefinition;
+	}
+
+	@Override
+	public String call(String toolInput) {
+		return this.replay.tool(this.toolDefinition.name(), toolInput);
+	}
+
+}
@@ -0,0 +1,74 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.trace;
+
+import java.util.function.Function;
+
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+
+/**
+ * Runs the tool calling loop outside of the chat model, one model turn at a time, so
+ * every turn is recorded and replayed while the tool calls go through the tool
+ * callbacks of the prompt.
+ *
+ * @author Christian Tzolov
+ */
+final class ToolCallingLoop {
+
+	private ToolCallingLoop() {
+	}
+
+	/**
+	 * Call the model, executing the requested tool calls until it answers without
+	 * tool calls.
+	 * @param prompt the prompt of the first turn.
+	 * @param turn calls the model for a single turn.
+	 * @param toolCallingManager executes the tool calls of a turn.
+	 */
+	static ChatResponse call(Prompt prompt, Function<Prompt, ChatResponse> turn,
+			ToolCallingManager toolCallingManager) {
+		Prompt turnPrompt = new Prompt(prompt.getInstructions(), withoutInternalToolExecution(prompt.getOptions()));
+		ChatResponse response = turn.apply(turnPrompt);
+
+		while (response != null && response.hasToolCalls()) {
+			ToolExecutionResult result = toolCallingManager.executeToolCalls(turnPrompt, response);
+			if (result.returnDirect()) {
+				return ChatResponse.builder()
+						.from(response)
+						.generations(ToolExecutionResult.buildGenerations(result))
+						.build();
+			}
+			turnPrompt = new Prompt(result.conversationHistory(), turnPrompt.getOptions());
+			response = turn.apply(turnPrompt);
+		}
+		return response;
+	}
+
+	private static ChatOptions withoutInternalToolExecution(ChatOptions options) {
+		if (options instanceof ToolCallingChatOptions toolCallingOptions) {
+			ToolCallingChatOptions copy = toolCallingOptions.copy();
+			copy.setInternalToolExecutionEnabled(false);
+			return copy;
+		}
+		return options;
+	}
+
+}
@@ -0,0 +1,84 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.trace;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * A recorded exchange. Requests are stored as hashes only, to keep the traces compact.
+ * Chat entries are single model turns, the tool calls requested by a turn are
+ * recorded with it and their results as tool entries.
+ *
+ * @param type the exchange type.
+ * @param name the tool name, for tool entries and tool definitions.
+ * @param servers the MCP server names of the agent, for tool definitions only.
+ * @param requestHash hash of the chat prompt or of the tool name and input.
+ * @param response the chat response content or the tool result.
+ * @param description the tool description, for tool definitions only.
+ * @param inputSchema the tool input schema, for tool definitions only.
+ * @param durationNanos duration of the exchange.
+ * @param toolCalls the tool calls requested by a chat turn.
+ * @author Christian Tzolov
+ */
+public record TraceEntry(Type type, String name, String servers, String requestHash, String response,
+		String description, String inputSchema, long durationNanos, List<ToolCall> toolCalls) {
+
+	public enum Type {
+
+		CHAT, TOOL, TOOL_DEFINITION
+
+	}
+
+	/**
+	 * A tool call requested by the model.
+	 */
+	public record ToolCall(String id, String name, String arguments) {
+	}
+
+	public TraceEntry {
+		toolCalls = (toolCalls != null) ? List.copyOf(toolCalls) : List.of();
+	}
+
+	public static TraceEntry chat(String prompt, String response, List<ToolCall> toolCalls, long durationNanos) {
+		return new TraceEntry(Type.CHAT, null, null, hash(prompt), response, null, null, durationNanos, toolCalls);
+	}
+
+	public static TraceEntry tool(String toolName, String input, String response, long durationNanos) {
+		return new TraceEntry(Type.TOOL, toolName, null, hash(toolName + "\n" + input), response, null, null,
+				durationNanos, null);
+	}
+
+	public static TraceEntry toolDefinition(String serverNames, String toolName, String description,
+			String inputSchema) {
+		return new TraceEntry(Type.TOOL_DEFINITION, toolName, serverNames, null, null, description, inputSchema, 0,
+				null);
+	}
+
+	static String hash(String text) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(String.valueOf(text).getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest, 0, 16);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
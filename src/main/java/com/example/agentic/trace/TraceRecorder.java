@@ -0,0 +1,66 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.trace;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Appends the recorded exchanges to a gzip-compressed JSONL trace file.
+ *
+ * @author Christian Tzolov
+ */
+public class TraceRecorder implements Closeable {
+
+	private final ObjectMapper objectMapper;
+
+	private final BufferedWriter writer;
+
+	public TraceRecorder(Path file, ObjectMapper objectMapper) throws IOException {
+		this.objectMapper = objectMapper;
+		this.writer = new BufferedWriter(
+				new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8));
+	}
+
+	public void record(TraceEntry entry) {
+		try {
+			String json = this.objectMapper.writeValueAsString(entry);
+			synchronized (this.writer) {
+				this.writer.write(json);
+				this.writer.newLine();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to record the trace entry", e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (this.writer) {
+			this.writer.close();
+		}
+	}
+
+}
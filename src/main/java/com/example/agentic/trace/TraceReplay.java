@@ -0,0 +1,147 @@
+/* 
+* Copyright 2025 - 2025 the original author or authors.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+* https://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.trace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.ai.tool.ToolCallback;
+
+/**
+ * Serves the exchanges of a trace recorded by {@link TraceRecorder}.
+ *
+ * Exchanges are matched by request hash. When no recorded request matches, for
+ * example because a prompt embeds a timestamp, the next unused exchange of the same
+ * type is served in recording order.
+ *
+ * @author Christian Tzolov
+ */
+public class TraceReplay {
+
+	/**
+	 * Latency applied to the replayed exchanges.
+	 */
+	public enum Latency {
+
+		/**
+		 * Wait for the recorded duration of each exchange.
+		 */
+		RECORDED,
+
+		/**
+		 * Answer immediately, to measure the orchestrator overhead only.
+		 */
+		ZERO
+
+	}
+
+	private final Latency latency;
+
+	private final Map<String, Deque<TraceEntry>> byRequest = new HashMap<>();
+
+	private final Map<TraceEntry.Type, Deque<TraceEntry>> inOrder = new HashMap<>();
+
+	private final Map<String, List<TraceEntry>> toolDefinitions = new LinkedHashMap<>();
+
+	public TraceReplay(Path file, ObjectMapper objectMapper, Latency latency) throws IOException {
+		this.latency = latency;
+		try (var reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)),
+				StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				TraceEntry entry = objectMapper.readValue(line, TraceEntry.class);
+				if (entry.type() == TraceEntry.Type.TOOL_DEFINITION) {
+					// Agents sharing the same servers record the same definitions
+					var definitions = this.toolDefinitions.computeIfAbsent(entry.servers(),
+							servers -> new ArrayList<>());
+					if (definitions.stream().noneMatch(definition -> definition.name().equals(entry.name()))) {
+						definitions.add(entry);
+					}
+					continue;
+				}
+				this.byRequest.computeIfAbsent(entry.requestHash(), hash -> new ArrayDeque<>()).add(entry);
+				this.inOrder.computeIfAbsent(entry.type(), type -> new ArrayDeque<>()).add(entry);
+			}
+		}
+	}
+
+	/**
+	 * Replay the chat turn for the given prompt.
+	 */
+	public TraceEntry chat(String prompt) {
+		return this.replay(TraceEntry.Type.CHAT, TraceEntry.hash(prompt));
+	}
+
+	/**
+	 * Replay the result of a tool call.
+	 */
+	public String tool(String toolName, String input) {
+		return this.replay(TraceEntry.Type.TOOL, TraceEntry.hash(toolName + "\n" + input)).response();
+	}
+
+	/**
+	 * Tool callbacks replaying the tools recorded for the given MCP server names.
+	 */
+	public List<ToolCallback> toolCallbacks(List<String> serverNames) {
+		return this.toolDefinitions.getOrDefault(String.join(",", serverNames), List.of())
+				.stream()
+				.<ToolCallback>map(definition -> new ReplayToolCallback(this, definition.name(),
+						definition.description(), definition.inputSchema()))
+				.toList();
+	}
+
+	private TraceEntry replay(TraceEntry.Type type, String requestHash) {
+		TraceEntry entry;
+		synchronized (this) {
+			Deque<TraceEntry> matching = this.byRequest.get(requestHash);
+			entry = (matching != null) ? matching.poll() : null;
+			if (entry == null) {
+				entry = this.inOrder.getOrDefault(type, new ArrayDeque<>()).poll();
+				if (entry == null) {
+					throw new IllegalStateException("No recorded %s exchange left to replay".formatted(type));
+				}
+				this.byRequest.get(entry.requestHash()).remove(entry);
+			} else {
+				this.inOrder.get(type).remove(entry);
+			}
+		}
+
+		if (this.latency == Latency.RECORDED && entry.durationNanos() > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(entry.durationNanos());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return entry;
+	}
+
+}
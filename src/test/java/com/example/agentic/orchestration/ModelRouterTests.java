@@ -0,0 +1,108 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.List;
+
+import com.example.agentic.McpAgent;
+import com.example.agentic.orchestration.ModelRouter.TaskComplexity;
+import com.example.agentic.orchestration.Types.AgentTask;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the {@link ModelRouter} selection, without exploration.
+ *
+ * @author Christian Tzolov
+ */
+class ModelRouterTests {
+
+	private static final McpAgent WRITER = new McpAgent("writer", "", List.of(), null);
+
+	private static final AgentTask SIMPLE_TASK = new AgentTask("Save the reports to the writer directory", "writer");
+
+	private static final AgentTask COMPLEX_TASK = new AgentTask("Write the report on the latest AI news", "writer");
+
+	private final ModelRouter router = new ModelRouter(0.8, 0)
+			.register("writer", "cheap", null)
+			.register("writer", "strong", null);
+
+	@Test
+	void classifiesTheTasksByTheirWholeWords() {
+		assertEquals(TaskComplexity.SIMPLE, TaskComplexity.of(SIMPLE_TASK));
+		assertEquals(TaskComplexity.SIMPLE, TaskComplexity.of(new AgentTask("Find a reasonable source", "writer")));
+		assertEquals(TaskComplexity.COMPLEX, TaskComplexity.of(COMPLEX_TASK));
+		assertEquals(TaskComplexity.COMPLEX, TaskComplexity.of(new AgentTask("Analyzing the sources", "writer")));
+	}
+
+	@Test
+	void usesTheAgentChatClientWithoutCandidates() {
+		var agent = new McpAgent("searcher", "", List.of(), null);
+
+		assertEquals(ModelRouter.DEFAULT_MODEL, this.router.select(agent, SIMPLE_TASK).model());
+	}
+
+	@Test
+	void selectsTheUntriedCandidatesFirst() {
+		assertEquals("cheap", this.router.select(WRITER, SIMPLE_TASK).model());
+
+		this.router.record("writer", "cheap", TaskComplexity.SIMPLE, 100, true);
+
+		assertEquals("strong", this.router.select(WRITER, SIMPLE_TASK).model());
+	}
+
+	@Test
+	void prefersTheLowestLatency() {
+		this.router.record("writer", "cheap", TaskComplexity.SIMPLE, 500, true);
+		this.router.record("writer", "strong", TaskComplexity.SIMPLE, 100, true);
+
+		assertEquals("strong", this.router.select(WRITER, SIMPLE_TASK).model());
+	}
+
+	@Test
+	void skipsTheCandidatesBelowTheSuccessRate() {
+		for (int i = 0; i < 4; i++) {
+			this.router.record("writer", "cheap", TaskComplexity.SIMPLE, 500, true);
+		}
+		this.router.record("writer", "strong", TaskComplexity.SIMPLE, 100, false);
+
+		assertEquals("cheap", this.router.select(WRITER, SIMPLE_TASK).model());
+	}
+
+	@Test
+	void fallsBackToTheMostReliableCandidate() {
+		this.router.record("writer", "cheap", TaskComplexity.SIMPLE, 100, false);
+		for (int i = 0; i < 3; i++) {
+			this.router.record("writer", "strong", TaskComplexity.SIMPLE, 100, false);
+		}
+
+		assertEquals("cheap", this.router.select(WRITER, SIMPLE_TASK).model());
+	}
+
+	@Test
+	void routesTheComplexTasksAwayFromTheCheapestCandidate() {
+		assertEquals("strong", this.router.select(WRITER, COMPLEX_TASK).model());
+
+		// The statistics are kept per complexity
+		this.router.record("writer", "strong", TaskComplexity.COMPLEX, 100, true);
+
+		assertEquals(0, this.router.getStats("writer", "strong", TaskComplexity.SIMPLE).calls());
+		assertEquals("cheap", this.router.select(WRITER, SIMPLE_TASK).model());
+	}
+
+}
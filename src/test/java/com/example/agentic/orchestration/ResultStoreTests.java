@@ -0,0 +1,104 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import com.example.agentic.orchestration.Types.TaskWithResult;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link ResultStore} spill file round trip.
+ *
+ * @author Christian Tzolov
+ */
+class ResultStoreTests {
+
+	private static final String LARGE_RESULT = "Result line \u00e9\n".repeat(100);
+
+	private Path directory;
+
+	private ResultStore resultStore;
+
+	@BeforeEach
+	void open() throws IOException {
+		this.directory = Files.createTempDirectory("result-store-tests");
+		this.resultStore = new ResultStore(100, this.directory);
+	}
+
+	@AfterEach
+	void close() throws IOException {
+		this.resultStore.close();
+		try (Stream<Path> files = Files.list(this.directory)) {
+			for (Path file : files.toList()) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(this.directory);
+	}
+
+	@Test
+	void keepsTheSmallResultsOnTheHeap() throws IOException {
+		TaskWithResult taskResult = this.resultStore.store("Search", "Small result");
+
+		assertNull(taskResult.handle());
+		assertEquals("Small result", taskResult.content());
+		assertEquals(0, this.spillFiles());
+	}
+
+	@Test
+	void spillsTheLargeResultsAndLoadsThemBack() throws IOException {
+		TaskWithResult first = this.resultStore.store("Search", LARGE_RESULT);
+		TaskWithResult second = this.resultStore.store("Write", LARGE_RESULT + "end");
+
+		assertNotNull(first.handle());
+		assertTrue(first.result().length() < LARGE_RESULT.length(), first.result());
+		assertTrue(first.result().endsWith("... [%d characters]".formatted(LARGE_RESULT.length())), first.result());
+		assertEquals(LARGE_RESULT, first.content());
+		assertEquals(LARGE_RESULT + "end", second.content());
+		assertEquals(1, this.spillFiles());
+	}
+
+	@Test
+	void deletesTheSpillFileAndRejectsTheStoreAndLoadWhenClosed() throws IOException {
+		TaskWithResult taskResult = this.resultStore.store("Search", LARGE_RESULT);
+
+		this.resultStore.close();
+
+		assertEquals(0, this.spillFiles());
+		assertThrows(IllegalStateException.class, taskResult::content);
+		assertThrows(IllegalStateException.class, () -> this.resultStore.store("Write", LARGE_RESULT));
+	}
+
+	private long spillFiles() throws IOException {
+		try (Stream<Path> files = Files.list(this.directory)) {
+			return files.count();
+		}
+	}
+
+}
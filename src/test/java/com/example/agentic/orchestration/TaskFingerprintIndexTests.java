@@ -0,0 +1,106 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import com.example.agentic.orchestration.Types.AgentTask;
+import com.example.agentic.orchestration.Types.TaskWithResult;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link TaskFingerprintIndex} with the default similarity threshold.
+ *
+ * @author Christian Tzolov
+ */
+class TaskFingerprintIndexTests {
+
+	private final TaskFingerprintIndex index = new TaskFingerprintIndex();
+
+	@Test
+	void reusesATaskReEmittedWithAnAddedTerm() {
+		this.add("searcher", "Search the latest AI news", "The news", 1);
+
+		var duplicate = this.index.findDuplicate(new AgentTask("Search for the latest news about AI", "searcher"), 2);
+
+		assertTrue(duplicate.isPresent());
+		assertEquals("The news", duplicate.get().result());
+	}
+
+	@Test
+	void reusesATaskReEmittedWithAReplacedTerm() {
+		this.add("searcher", "Collect the latest AI news headlines", "The headlines", 1);
+
+		assertTrue(this.index
+				.findDuplicate(new AgentTask("Gather the latest AI news headlines", "searcher"), 2)
+				.isPresent());
+	}
+
+	@Test
+	void doesNotReuseARevisionOfAnEarlierIteration() {
+		this.add("writer", "Write the report on the latest AI news", "The report", 1);
+
+		assertFalse(this.index
+				.findDuplicate(new AgentTask("Write the revised report on the latest AI news", "writer"), 2)
+				.isPresent());
+		assertFalse(this.index
+				.findDuplicate(new AgentTask("Update the report on the latest AI news", "writer"), 2)
+				.isPresent());
+	}
+
+	@Test
+	void doesNotReuseADifferentTask() {
+		this.add("searcher", "Search the latest AI news", "The news", 1);
+
+		assertFalse(this.index.findDuplicate(new AgentTask("Search the AI research papers", "searcher"), 2)
+				.isPresent());
+	}
+
+	@Test
+	void doesNotReuseTheTaskOfAnotherAgent() {
+		this.add("searcher", "Search the latest AI news", "The news", 1);
+
+		assertFalse(this.index.findDuplicate(new AgentTask("Search the latest AI news", "fact_checker"), 1)
+				.isPresent());
+	}
+
+	@Test
+	void doesNotReuseATaskWithoutResult() {
+		this.index.add(new AgentTask("Search the latest AI news", "searcher"),
+				new TaskWithResult("Search the latest AI news", null), 1);
+
+		assertFalse(this.index.findDuplicate(new AgentTask("Search the latest AI news", "searcher"), 2)
+				.isPresent());
+	}
+
+	@Test
+	void doesNotReuseWhenDisabled() {
+		var disabled = new TaskFingerprintIndex(0);
+		disabled.add(new AgentTask("Search the latest AI news", "searcher"),
+				new TaskWithResult("Search the latest AI news", "The news"), 1);
+
+		assertFalse(disabled.findDuplicate(new AgentTask("Search the latest AI news", "searcher"), 2)
+				.isPresent());
+	}
+
+	private void add(String agent, String description, String result, int iteration) {
+		this.index.add(new AgentTask(description, agent), new TaskWithResult(description, result), iteration);
+	}
+
+}
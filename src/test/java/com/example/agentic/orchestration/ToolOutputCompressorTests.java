@@ -0,0 +1,117 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the {@link ToolOutputCompressor} without summarizer.
+ *
+ * @author Christian Tzolov
+ */
+class ToolOutputCompressorTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void stripsTheBoilerplateLines() {
+		var compressor = this.compressor(false, true, 20000);
+
+		String output = """
+				Skip to main content
+				* [Home](/) | [News](/news) | [About](/about)
+				Accept all cookies
+				The model was released on Monday.
+				All rights reserved 2025
+				""";
+
+		assertEquals("The model was released on Monday.", compressor.compress("fetch", "{}", output));
+	}
+
+	@Test
+	void keepsTheBoilerplateLinesWhenDisabled() {
+		var compressor = this.compressor(false, false, 20000);
+
+		assertEquals("Sign in\nThe model was released on Monday.",
+				compressor.compress("fetch", "{}", "Sign in\nThe model was released on Monday.\n"));
+	}
+
+	@Test
+	void removesTheRepeatedLines() {
+		var compressor = this.compressor(true, false, 20000);
+
+		String output = """
+				The model was released on Monday.
+				---
+				It is available in the API.
+				---
+				THE MODEL WAS RELEASED ON MONDAY.
+				""";
+
+		// Short lines, such as separators, are kept
+		assertEquals("The model was released on Monday.\n---\nIt is available in the API.\n---",
+				compressor.compress("fetch", "{}", output));
+	}
+
+	@Test
+	void capsTheOutputKeepingItsHeadAndTail() {
+		var compressor = this.compressor(false, false, 10);
+
+		assertEquals("abcdefg\n\n[... 16 characters omitted ...]\n\nxyz",
+				compressor.compress("fetch", "{}", "abcdefghijklmnopqrstuvwxyz"));
+	}
+
+	@Test
+	void unwrapsTheMcpTextContents() {
+		var compressor = this.compressor(false, false, 20000);
+
+		String output = """
+				[{"type":"text","text":"First page"},{"type":"text","text":"Second page"}]""";
+
+		assertEquals("First page\n\nSecond page", compressor.compress("fetch", "{}", output));
+	}
+
+	@Test
+	void passesTheNonTextContentsThrough() {
+		var compressor = this.compressor(true, true, 10);
+
+		String output = """
+				[{"type":"image","data":"iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNk"}]""";
+
+		assertEquals(output, compressor.compress("fetch", "{}", output));
+	}
+
+	@Test
+	void recordsTheSizeReductionPerTool() {
+		var compressor = this.compressor(true, false, 20000);
+
+		compressor.compress("fetch", "{}", "The model was released on Monday.\nThe model was released on Monday.");
+
+		var stats = compressor.getStats().get("fetch");
+		assertEquals(1, stats.calls());
+		assertEquals(67, stats.originalBytes());
+		assertEquals(33, stats.compressedBytes());
+	}
+
+	private ToolOutputCompressor compressor(boolean deduplicate, boolean stripBoilerplate, int maxChars) {
+		return new ToolOutputCompressor(this.objectMapper, deduplicate, stripBoilerplate, maxChars, 0.7, null, 8000);
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration;
+
+import java.util.List;
+
+import com.example.agentic.McpAgent;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link ToolSelector} defaults with the tools of the brave, fetch and
+ * filesystem MCP servers.
+ *
+ * @author Christian Tzolov
+ */
+class ToolSelectorTests {
+
+	private static final String SEARCHER_INSTRUCTION = """
+			You are an expert web researcher. Your role is to:
+			1. Search for relevant, authoritative sources on the given topic
+			2. Visit the most promising URLs to gather detailed information
+			3. Return a structured summary of your findings with source URLs
+			4. Save each individual source in my in my spring-mcp-agent directory. We only need up to 10 sources max.
+
+			Focus on high-quality sources like academic papers, respected tech publications,
+			and official documentation.""";
+
+	private static final List<ToolCallback> TOOLS = List.of(
+			tool("brave_web_search", "Performs a web search using the Brave Search API, for general queries, news"
+					+ " and articles."),
+			tool("brave_local_search", "Searches for local businesses and places using the Brave Local Search API."),
+			tool("fetch", "Fetches a URL from the internet and extracts its contents as markdown."),
+			tool("read_file", "Read the complete contents of a file from the file system."),
+			tool("read_multiple_files", "Read the contents of multiple files simultaneously."),
+			tool("write_file", "Create a new file or completely overwrite an existing file with new content."),
+			tool("edit_file", "Make line-based edits to a text file."),
+			tool("create_directory", "Create a new directory or ensure a directory exists."),
+			tool("list_directory", "Get a detailed listing of all files and directories in a specified path."),
+			tool("directory_tree", "Get a recursive tree view of files and directories as a JSON structure."),
+			tool("move_file", "Move or rename files and directories."),
+			tool("search_files", "Recursively search for files and directories matching a pattern."),
+			tool("get_file_info", "Retrieve detailed metadata about a file or directory."));
+
+	private final ToolSelector toolSelector = ToolSelector.defaults();
+
+	@Test
+	void doesNotAttachTheWriteToolsToASearchTask() {
+		var searcher = new McpAgent("searcher", SEARCHER_INSTRUCTION, List.of("brave", "fetch", "filesystem"), null,
+				TOOLS, List.of("fetch"));
+
+		List<String> selected = names(this.toolSelector.select("Search the news", searcher));
+
+		assertTrue(selected.contains("brave_web_search"), selected.toString());
+		assertTrue(selected.contains("fetch"), "pinned tool: " + selected);
+		for (String writeTool : List.of("write_file", "edit_file", "create_directory", "move_file")) {
+			assertFalse(selected.contains(writeTool), selected.toString());
+		}
+	}
+
+	@Test
+	void attachesTheWriteToolsToASaveTask() {
+		var writer = new McpAgent("writer", "", List.of("filesystem"), null, TOOLS, List.of());
+
+		List<String> selected = names(this.toolSelector.select("Save the report as report.md", writer));
+
+		assertTrue(selected.contains("write_file"), selected.toString());
+		assertFalse(selected.contains("brave_web_search"), selected.toString());
+	}
+
+	@Test
+	void attachesOnlyTheReadToolsToAReadTask() {
+		var factChecker = new McpAgent("fact_checker", "", List.of("filesystem"), null, TOOLS, List.of());
+
+		List<String> selected = names(this.toolSelector.select("Read the sources in the directory", factChecker));
+
+		assertTrue(selected.contains("read_file"), selected.toString());
+		assertTrue(selected.contains("list_directory"), selected.toString());
+		assertFalse(selected.contains("write_file"), selected.toString());
+		assertFalse(selected.contains("move_file"), selected.toString());
+	}
+
+	@Test
+	void keepsAllTheToolsWhenNothingMatches() {
+		var agent = new McpAgent("agent", "", List.of("filesystem"), null, TOOLS, List.of("fetch"));
+
+		assertEquals(TOOLS.size(), this.toolSelector.select("Summarize", agent).size());
+	}
+
+	private static List<String> names(List<ToolCallback> tools) {
+		return tools.stream().map(tool -> tool.getToolDefinition().name()).toList();
+	}
+
+	private static ToolCallback tool(String name, String description) {
+		var definition = new StubToolDefinition(name, description, "{}");
+		return new ToolCallback() {
+
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return definition;
+			}
+
+			@Override
+			public String call(String toolInput) {
+				return "";
+			}
+		};
+	}
+
+	private record StubToolDefinition(String name, String description, String inputSchema) implements ToolDefinition {
+	}
+
+}
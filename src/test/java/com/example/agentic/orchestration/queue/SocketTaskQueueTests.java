@@ -0,0 +1,193 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.orchestration.queue;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import com.example.agentic.orchestration.AgentCatalog;
+import com.example.agentic.orchestration.ModelRouter;
+import com.example.agentic.orchestration.Types.TaskWithResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loopback tests of the {@link SocketTaskQueue} and {@link SocketTaskWorker}
+ * protocol.
+ *
+ * @author Christian Tzolov
+ */
+class SocketTaskQueueTests {
+
+	private static final TaskRequest REQUEST = new TaskRequest("searcher", "Search the news", "Search the AI news");
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private SocketTaskWorker worker;
+
+	private SocketTaskQueue taskQueue;
+
+	@AfterEach
+	void close() throws IOException {
+		this.release.countDown();
+		if (this.taskQueue != null) {
+			this.taskQueue.close();
+		}
+		if (this.worker != null) {
+			this.worker.close();
+		}
+	}
+
+	@Test
+	void returnsTheTaskResult() throws Exception {
+		this.start(request -> new TaskWithResult(request.description(), "Result of: " + request.prompt()),
+				Duration.ofSeconds(10));
+
+		TaskWithResult result = this.taskQueue.submit(REQUEST).get(10, TimeUnit.SECONDS);
+
+		assertEquals("Search the news", result.description());
+		assertEquals("Result of: Search the AI news", result.result());
+	}
+
+	@Test
+	void failsTheTaskWithTheWorkerError() throws Exception {
+		this.start(request -> {
+			throw new IllegalStateException("Agent searcher not found");
+		}, Duration.ofSeconds(10));
+
+		var error = assertThrows(ExecutionException.class,
+				() -> this.taskQueue.submit(REQUEST).get(10, TimeUnit.SECONDS));
+
+		assertTrue(error.getCause().getMessage().contains("Agent searcher not found"), error.getMessage());
+	}
+
+	@Test
+	void failsThePendingTasksWhenTheWorkerCloses() throws Exception {
+		var started = new CountDownLatch(1);
+		this.start(request -> {
+			started.countDown();
+			return this.awaitRelease(request);
+		}, Duration.ofSeconds(10));
+
+		CompletableFuture<TaskWithResult> pending = this.taskQueue.submit(REQUEST);
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+
+		this.worker.close();
+
+		var error = assertThrows(ExecutionException.class, () -> pending.get(10, TimeUnit.SECONDS));
+		assertTrue(error.getCause().getMessage().contains("closed"), error.getMessage());
+
+		// The closed connection is not used for the following tasks
+		var next = assertThrows(ExecutionException.class,
+				() -> this.taskQueue.submit(REQUEST).get(1, TimeUnit.SECONDS));
+		assertTrue(next.getCause().getMessage().contains("closed"), next.getMessage());
+	}
+
+	@Test
+	void failsTheTaskWhenTheWorkerDoesNotAnswer() throws Exception {
+		this.start(this::awaitRelease, Duration.ofMillis(200));
+
+		var error = assertThrows(ExecutionException.class,
+				() -> this.taskQueue.submit(REQUEST).get(10, TimeUnit.SECONDS));
+
+		assertInstanceOf(TimeoutException.class, error.getCause());
+	}
+
+	@Test
+	void answersAMalformedTaskWithAnErrorAndKeepsTheConnection() throws Exception {
+		this.start(request -> new TaskWithResult(request.description(), "Result of: " + request.prompt()),
+				Duration.ofSeconds(10));
+
+		try (var socket = new Socket(InetAddress.getLoopbackAddress(), this.worker.getPort());
+				var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				var writer = new BufferedWriter(
+						new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+			socket.setSoTimeout(10_000);
+			writer.write("{\"id\":7,\"request\":\"Search the news\"}");
+			writer.newLine();
+			writer.write(this.objectMapper.writeValueAsString(new SocketTaskWorker.TaskMessage(8, REQUEST)));
+			writer.newLine();
+			writer.flush();
+
+			var malformed = this.objectMapper.readValue(reader.readLine(), SocketTaskWorker.ResultMessage.class);
+			assertEquals(7, malformed.id());
+			assertEquals("Malformed task message", malformed.error());
+
+			var result = this.objectMapper.readValue(reader.readLine(), SocketTaskWorker.ResultMessage.class);
+			assertEquals(8, result.id());
+			assertEquals("Result of: Search the AI news", result.result());
+		}
+	}
+
+	private void start(Function<TaskRequest, TaskWithResult> execute, Duration taskTimeout) throws IOException {
+		this.worker = new SocketTaskWorker(new StubTaskExecutor(execute), this.objectMapper, 0, 2);
+		this.worker.start();
+		this.taskQueue = new SocketTaskQueue(
+				List.of(new InetSocketAddress(InetAddress.getLoopbackAddress(), this.worker.getPort())),
+				this.objectMapper, taskTimeout);
+	}
+
+	private TaskWithResult awaitRelease(TaskRequest request) {
+		try {
+			this.release.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted", e);
+		}
+		return new TaskWithResult(request.description(), "Released");
+	}
+
+	private static class StubTaskExecutor extends AgentTaskExecutor {
+
+		private final Function<TaskRequest, TaskWithResult> execute;
+
+		StubTaskExecutor(Function<TaskRequest, TaskWithResult> execute) {
+			super(new AgentCatalog(), new ModelRouter());
+			this.execute = execute;
+		}
+
+		@Override
+		public TaskWithResult execute(TaskRequest request) {
+			return this.execute.apply(request);
+		}
+
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+* Copyright 2025 - 2025 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.example.agentic.trace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Records a tool calling exchange through the recording decorators and replays it
+ * without the model and the tool.
+ *
+ * @author Christian Tzolov
+ */
+class TraceReplayTests {
+
+	private static final String TOOL_INPUT = "{\"city\":\"Paris\"}";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final ToolCallingManager toolCallingManager = ToolCallingManager.builder().build();
+
+	private Path file;
+
+	@BeforeEach
+	void createFile() throws IOException {
+		this.file = Files.createTempFile("trace-", ".jsonl.gz");
+	}
+
+	@AfterEach
+	void deleteFile() throws IOException {
+		Files.deleteIfExists(this.file);
+	}
+
+	@Test
+	void replaysTheModelTurnsAndTheToolCalls() throws IOException {
+		// Record with a model asking for the weather tool, then answering with its result
+		List<String> toolInputs = new ArrayList<>();
+		ToolCallback weatherTool = new StubToolCallback(input -> {
+			toolInputs.add(input);
+			return "Sunny";
+		});
+		try (var recorder = new TraceRecorder(this.file, this.objectMapper)) {
+			var definition = weatherTool.getToolDefinition();
+			recorder.record(TraceEntry.toolDefinition("weather", definition.name(), definition.description(),
+					definition.inputSchema()));
+			var recordingModel = new RecordingChatModel(new WeatherChatModel(), recorder, this.toolCallingManager);
+
+			ChatResponse recorded = recordingModel.call(this.prompt(new RecordingToolCallback(weatherTool, recorder)));
+
+			assertEquals("The weather is: Sunny", recorded.getResult().getOutput().getText());
+			assertEquals(List.of(TOOL_INPUT), toolInputs);
+		}
+
+		// Replay through the replayed tool callbacks, without the model and the tool
+		var replay = new TraceReplay(this.file, this.objectMapper, TraceReplay.Latency.ZERO);
+		List<ToolCallback> replayedTools = replay.toolCallbacks(List.of("weather"));
+		assertEquals(1, replayedTools.size());
+		List<String> replayedResults = new ArrayList<>();
+		ToolCallback replayedTool = new StubToolCallback(input -> {
+			String result = replayedTools.get(0).call(input);
+			replayedResults.add(result);
+			return result;
+		});
+
+		ChatResponse replayed = new ReplayChatModel(replay, this.toolCallingManager).call(this.prompt(replayedTool));
+
+		assertEquals("The weather is: Sunny", replayed.getResult().getOutput().getText());
+		assertEquals(List.of("Sunny"), replayedResults);
+		assertEquals(List.of(TOOL_INPUT), toolInputs);
+	}
+
+	private Prompt prompt(ToolCallback tool) {
+		return new Prompt(List.of(new UserMessage("What is the weather in Paris?")),
+				ToolCallingChatOptions.builder().toolCallbacks(List.of(tool)).build());
+	}
+
+	/**
+	 * Asks for the weather tool, then answers with the tool result.
+	 */
+	private static class WeatherChatModel implements ChatModel {
+
+		@Override
+		public ChatResponse call(Prompt prompt) {
+			Message last = prompt.getInstructions().get(prompt.getInstructions().size() - 1);
+			if (last instanceof ToolResponseMessage toolResponse) {
+				return response(new AssistantMessage(
+						"The weather is: " + toolResponse.getResponses().get(0).responseData()));
+			}
+			return response(new AssistantMessage("", Map.of(),
+					List.of(new AssistantMessage.ToolCall("call-1", "function", "weather", TOOL_INPUT))));
+		}
+
+		private static ChatResponse response(AssistantMessage message) {
+			return new ChatResponse(List.of(new Generation(message)));
+		}
+
+	}
+
+	private record StubToolDefinition(String name, String description, String inputSchema) implements ToolDefinition {
+	}
+
+	private static class StubToolCallback implements ToolCallback {
+
+		private final Function<String, String> call;
+
+		StubToolCallback(Function<String, String> call) {
+			this.call = call;
+		}
+
+		@Override
+		public ToolDefinition getToolDefinition() {
+			return new StubToolDefinition("weather", "Current weather of a city", "{\"type\":\"object\"}");
+		}
+
+		@Override
+		public String call(String toolInput) {
+			return this.call.apply(toolInput);
+		}
+
+	}
+
+}